@@ -0,0 +1,55 @@
+package db.migration;
+
+import io.confluent.schemaregistry.pg.domain.value.CanonicalFingerprint;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Fill in {@code schemas.canonical_fingerprint} for existing schemas. Computing the fingerprint needs
+ * the Avro parser, so this cannot be done in SQL. Only Avro schemas are fingerprinted; schemas with
+ * references cannot be parsed on their own and keep a null fingerprint.
+ */
+public class V9__Backfill_canonical_fingerprints extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String select = """
+                SELECT s.id, s.schema_text FROM schemas s
+                WHERE s.canonical_fingerprint IS NULL
+                  AND s.schema_type = 'AVRO'
+                  AND NOT EXISTS (SELECT 1 FROM schema_references r WHERE r.schema_id = s.id)
+                """;
+        String update = "UPDATE schemas SET canonical_fingerprint = ? WHERE id = ?";
+
+        try (PreparedStatement query = connection.prepareStatement(select);
+             PreparedStatement updates = connection.prepareStatement(update)) {
+            query.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = query.executeQuery()) {
+                int pending = 0;
+                while (rs.next()) {
+                    Long fingerprint = CanonicalFingerprint.compute(rs.getString("schema_text"));
+                    if (fingerprint == null) {
+                        continue;
+                    }
+                    updates.setLong(1, fingerprint);
+                    updates.setInt(2, rs.getInt("id"));
+                    updates.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        updates.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    updates.executeBatch();
+                }
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package io.confluent.schemaregistry.pg;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SchemaRegistryApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,38 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationEntry;
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationResult;
+import io.confluent.schemaregistry.pg.domain.service.BatchRegistrationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the /batch endpoints. They live outside /subjects so that no path can be
+ * mistaken for a subject name.
+ */
+@RestController
+public class BatchController {
+
+    private final BatchRegistrationService batchRegistrationService;
+
+    public BatchController(BatchRegistrationService batchRegistrationService) {
+        this.batchRegistrationService = batchRegistrationService;
+    }
+
+    /**
+     * POST /batch/subjects - Register schemas under many subjects in one request.
+     * Returns one result per entry, in request order; failed entries do not affect the others.
+     */
+    @PostMapping("/batch/subjects")
+    public ResponseEntity<List<BatchRegistrationResult>> registerBatch(
+            @RequestBody List<BatchRegistrationEntry> entries,
+            @RequestParam(defaultValue = "false") boolean normalize
+    ) {
+        return ResponseEntity.ok(batchRegistrationService.register(entries, normalize));
+    }
+}
@@ -0,0 +1,138 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.infrastructure.cache.CompatibilityVerdictCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.NormalizedSchemaCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ParsedSchemaCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ResolvedReferenceCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SchemaCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SubjectVersionIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller for /admin/cache endpoints.
+ */
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheController {
+
+    private final SchemaCache schemaCache;
+    private final ParsedSchemaCache parsedSchemaCache;
+    private final NormalizedSchemaCache normalizedSchemaCache;
+    private final CompatibilityVerdictCache verdictCache;
+    private final ResolvedReferenceCache resolvedReferenceCache;
+    private final SubjectVersionIndex subjectVersionIndex;
+
+    public CacheController(SchemaCache schemaCache,
+                           ParsedSchemaCache parsedSchemaCache,
+                           NormalizedSchemaCache normalizedSchemaCache,
+                           CompatibilityVerdictCache verdictCache,
+                           ResolvedReferenceCache resolvedReferenceCache,
+                           SubjectVersionIndex subjectVersionIndex) {
+        this.schemaCache = schemaCache;
+        this.parsedSchemaCache = parsedSchemaCache;
+        this.normalizedSchemaCache = normalizedSchemaCache;
+        this.verdictCache = verdictCache;
+        this.resolvedReferenceCache = resolvedReferenceCache;
+        this.subjectVersionIndex = subjectVersionIndex;
+    }
+
+    /**
+     * GET /admin/cache - Get cache sizes and hit/miss/eviction counters.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("schemas", describe(schemaCache.size(), schemaCache.stats()));
+        response.put("parsedSchemas", describe(parsedSchemaCache.size(), parsedSchemaCache.stats()));
+        response.put("normalizedSchemas", describe(normalizedSchemaCache.size(), normalizedSchemaCache.stats()));
+        response.put("compatibilityVerdicts", describe(verdictCache.size(), verdictCache.stats()));
+        response.put("resolvedReferences", describe(resolvedReferenceCache.size(), resolvedReferenceCache.stats()));
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("subjects", subjectVersionIndex.subjectCount());
+        index.put("versions", subjectVersionIndex.versionCount());
+        index.put("estimatedBytes", subjectVersionIndex.estimatedBytes());
+        response.put("subjectVersionIndex", index);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /admin/cache/schemas - Flush the schema-by-ID cache.
+     */
+    @DeleteMapping("/schemas")
+    public ResponseEntity<Map<String, Object>> flushSchemaCache() {
+        long flushed = schemaCache.size();
+        schemaCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("flushed", flushed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /admin/cache/parsed-schemas - Flush the parsed Avro schema cache.
+     */
+    @DeleteMapping("/parsed-schemas")
+    public ResponseEntity<Map<String, Object>> flushParsedSchemaCache() {
+        long flushed = parsedSchemaCache.size();
+        parsedSchemaCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("flushed", flushed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /admin/cache/normalized-schemas - Flush the normalized schema text memo.
+     */
+    @DeleteMapping("/normalized-schemas")
+    public ResponseEntity<Map<String, Object>> flushNormalizedSchemaCache() {
+        long flushed = normalizedSchemaCache.size();
+        normalizedSchemaCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("flushed", flushed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /admin/cache/compatibility-verdicts - Flush the pairwise compatibility verdict memo.
+     */
+    @DeleteMapping("/compatibility-verdicts")
+    public ResponseEntity<Map<String, Object>> flushVerdictCache() {
+        long flushed = verdictCache.size();
+        verdictCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("flushed", flushed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /admin/cache/resolved-references - Flush the resolved reference closures.
+     */
+    @DeleteMapping("/resolved-references")
+    public ResponseEntity<Map<String, Object>> flushResolvedReferenceCache() {
+        long flushed = resolvedReferenceCache.size();
+        resolvedReferenceCache.invalidateAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("flushed", flushed);
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> describe(long size, CacheStats stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+}
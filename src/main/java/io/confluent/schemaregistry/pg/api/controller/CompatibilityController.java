@@ -8,11 +8,10 @@ import io.confluent.schemaregistry.pg.domain.service.SubjectService;
 import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import io.confluent.schemaregistry.pg.domain.value.Version;
-import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,27 +25,30 @@ public class CompatibilityController {
 
     private final SubjectService subjectService;
     private final SchemaService schemaService;
-    private final ConfigRepository configRepository;
+    private final ConfigCache configCache;
     private final CompatibilityCheckService compatibilityCheckService;
 
     public CompatibilityController(SubjectService subjectService,
                                     SchemaService schemaService,
-                                    ConfigRepository configRepository,
+                                    ConfigCache configCache,
                                     CompatibilityCheckService compatibilityCheckService) {
         this.subjectService = subjectService;
         this.schemaService = schemaService;
-        this.configRepository = configRepository;
+        this.configCache = configCache;
         this.compatibilityCheckService = compatibilityCheckService;
     }
 
     /**
      * POST /compatibility/subjects/{subject}/versions/{version} - Test compatibility.
+     * Loads only the schemas the effective compatibility level needs: the target version for
+     * non-transitive levels, or every version up to the target for transitive ones.
      */
     @PostMapping("/subjects/{subject}/versions/{version}")
-    public ResponseEntity<Map<String, Boolean>> testCompatibility(
+    public ResponseEntity<Map<String, Object>> testCompatibility(
             @PathVariable String subject,
             @PathVariable String version,
-            @RequestBody SchemaEntity request
+            @RequestBody SchemaEntity request,
+            @RequestParam(defaultValue = "false") boolean verbose
     ) {
         SubjectName subjectName = SubjectName.of(subject);
         Version versionObj = Version.of(version);
@@ -54,26 +56,14 @@ public class CompatibilityController {
         // Get the version to test against
         SubjectVersion targetVersion = subjectService.getVersion(subjectName, versionObj, false);
 
-        // Get all schemas from this version backwards
-        List<Integer> versions = subjectService.listVersions(subjectName, false);
-        List<String> existingSchemas = new ArrayList<>();
-
-        for (int i = versions.size() - 1; i >= 0; i--) {
-            int v = versions.get(i);
-            if (v > targetVersion.getVersion().getValue()) {
-                continue; // Skip versions newer than target
-            }
-            SubjectVersion sv = subjectService.getVersion(subjectName, Version.of(v), false);
-            SchemaEntity schema = schemaService.getById(sv.getSchemaId());
-            existingSchemas.add(schema.getSchemaText());
-
-            if (v == targetVersion.getVersion().getValue()) {
-                break; // Stop at target version
-            }
-        }
-
         // Get compatibility level
-        CompatibilityLevel compatibilityLevel = configRepository.getEffectiveCompatibility(subjectName);
+        CompatibilityLevel compatibilityLevel = configCache.getEffectiveCompatibility(subjectName);
+
+        // Get the target schema, plus every older one for transitive levels, in one query
+        List<SchemaEntity> existingSchemas = compatibilityLevel == CompatibilityLevel.NONE
+                ? List.of()
+                : schemaService.getSchemasBySubject(
+                        subjectName, targetVersion.getVersion().getValue(), !compatibilityLevel.isTransitive());
 
         // Check compatibility
         List<String> errors = compatibilityCheckService.checkCompatibility(
@@ -82,8 +72,11 @@ public class CompatibilityController {
                 compatibilityLevel
         );
 
-        Map<String, Boolean> response = new LinkedHashMap<>();
+        Map<String, Object> response = new LinkedHashMap<>();
         response.put("is_compatible", errors.isEmpty());
+        if (verbose) {
+            response.put("messages", errors);
+        }
         return ResponseEntity.ok(response);
     }
 
@@ -91,10 +84,11 @@ public class CompatibilityController {
      * POST /compatibility/subjects/{subject}/versions - Test compatibility against latest.
      */
     @PostMapping("/subjects/{subject}/versions")
-    public ResponseEntity<Map<String, Boolean>> testCompatibilityLatest(
+    public ResponseEntity<Map<String, Object>> testCompatibilityLatest(
             @PathVariable String subject,
-            @RequestBody SchemaEntity request
+            @RequestBody SchemaEntity request,
+            @RequestParam(defaultValue = "false") boolean verbose
     ) {
-        return testCompatibility(subject, "latest", request);
+        return testCompatibility(subject, "latest", request, verbose);
     }
 }
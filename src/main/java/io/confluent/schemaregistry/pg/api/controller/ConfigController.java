@@ -4,6 +4,7 @@ import io.confluent.schemaregistry.pg.domain.model.GlobalConfig;
 import io.confluent.schemaregistry.pg.domain.model.SubjectConfig;
 import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +20,11 @@ import java.util.Map;
 public class ConfigController {
 
     private final ConfigRepository configRepository;
+    private final ConfigCache configCache;
 
-    public ConfigController(ConfigRepository configRepository) {
+    public ConfigController(ConfigRepository configRepository, ConfigCache configCache) {
         this.configRepository = configRepository;
+        this.configCache = configCache;
     }
 
     /**
@@ -29,7 +32,7 @@ public class ConfigController {
      */
     @GetMapping
     public ResponseEntity<Map<String, String>> getGlobalConfig() {
-        GlobalConfig config = configRepository.getGlobalConfig();
+        GlobalConfig config = configCache.getGlobalConfig();
         Map<String, String> response = new LinkedHashMap<>();
         response.put("compatibilityLevel", config.getCompatibility().name());
         return ResponseEntity.ok(response);
@@ -47,7 +50,7 @@ public class ConfigController {
 
         CompatibilityLevel compatibility = CompatibilityLevel.from(compatibilityStr);
 
-        GlobalConfig currentConfig = configRepository.getGlobalConfig();
+        GlobalConfig currentConfig = configCache.getGlobalConfig();
         GlobalConfig updatedConfig = currentConfig.withCompatibility(compatibility);
         configRepository.updateGlobalConfig(updatedConfig);
 
@@ -62,7 +65,7 @@ public class ConfigController {
     @GetMapping("/{subject}")
     public ResponseEntity<Map<String, String>> getSubjectConfig(@PathVariable String subject) {
         SubjectName subjectName = SubjectName.of(subject);
-        CompatibilityLevel compatibility = configRepository.getEffectiveCompatibility(subjectName);
+        CompatibilityLevel compatibility = configCache.getEffectiveCompatibility(subjectName);
 
         Map<String, String> response = new LinkedHashMap<>();
         response.put("compatibilityLevel", compatibility.name());
@@ -107,7 +110,7 @@ public class ConfigController {
         configRepository.deleteSubjectConfig(subjectName);
 
         // Return the new effective config (global)
-        CompatibilityLevel compatibility = configRepository.getEffectiveCompatibility(subjectName);
+        CompatibilityLevel compatibility = configCache.getEffectiveCompatibility(subjectName);
 
         Map<String, String> response = new LinkedHashMap<>();
         response.put("compatibility", compatibility.name());
@@ -0,0 +1,35 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.domain.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST controller for the /export endpoint.
+ */
+@RestController
+public class ExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * GET /export - Stream every config, schema, reference and subject-version as NDJSON.
+     * Written straight to the response, so memory use does not depend on registry size.
+     */
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"schema-registry.ndjson\"");
+        exportService.export(response.getOutputStream());
+    }
+}
@@ -0,0 +1,32 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.domain.model.ImportResult;
+import io.confluent.schemaregistry.pg.domain.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST controller for the /import endpoint.
+ */
+@RestController
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * POST /import - Bulk load NDJSON records (combined or as produced by GET /export) in IMPORT mode.
+     * The body is read as a stream, so it is never held in memory as a whole.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResult> importRecords(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(importService.importRecords(request.getInputStream()));
+    }
+}
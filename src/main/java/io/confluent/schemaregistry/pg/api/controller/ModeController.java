@@ -4,6 +4,7 @@ import io.confluent.schemaregistry.pg.domain.model.GlobalConfig;
 import io.confluent.schemaregistry.pg.domain.model.SubjectConfig;
 import io.confluent.schemaregistry.pg.domain.value.Mode;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +20,11 @@ import java.util.Map;
 public class ModeController {
 
     private final ConfigRepository configRepository;
+    private final ConfigCache configCache;
 
-    public ModeController(ConfigRepository configRepository) {
+    public ModeController(ConfigRepository configRepository, ConfigCache configCache) {
         this.configRepository = configRepository;
+        this.configCache = configCache;
     }
 
     /**
@@ -29,7 +32,7 @@ public class ModeController {
      */
     @GetMapping
     public ResponseEntity<Map<String, String>> getGlobalMode() {
-        GlobalConfig config = configRepository.getGlobalConfig();
+        GlobalConfig config = configCache.getGlobalConfig();
         Map<String, String> response = new LinkedHashMap<>();
         response.put("mode", config.getMode().name());
         return ResponseEntity.ok(response);
@@ -43,7 +46,7 @@ public class ModeController {
         String modeStr = request.get("mode");
         Mode mode = Mode.from(modeStr);
 
-        GlobalConfig currentConfig = configRepository.getGlobalConfig();
+        GlobalConfig currentConfig = configCache.getGlobalConfig();
         GlobalConfig updatedConfig = currentConfig.withMode(mode);
         configRepository.updateGlobalConfig(updatedConfig);
 
@@ -58,7 +61,7 @@ public class ModeController {
     @GetMapping("/{subject}")
     public ResponseEntity<Map<String, String>> getSubjectMode(@PathVariable String subject) {
         SubjectName subjectName = SubjectName.of(subject);
-        Mode mode = configRepository.getEffectiveMode(subjectName);
+        Mode mode = configCache.getEffectiveMode(subjectName);
 
         Map<String, String> response = new LinkedHashMap<>();
         response.put("mode", mode.name());
@@ -97,7 +100,7 @@ public class ModeController {
         SubjectName subjectName = SubjectName.of(subject);
         configRepository.deleteSubjectConfig(subjectName);
 
-        Mode mode = configRepository.getEffectiveMode(subjectName);
+        Mode mode = configCache.getEffectiveMode(subjectName);
 
         Map<String, String> response = new LinkedHashMap<>();
         response.put("mode", mode.name());
@@ -3,7 +3,6 @@ package io.confluent.schemaregistry.pg.api.controller;
 import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
 import io.confluent.schemaregistry.pg.domain.service.SchemaService;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
-import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -52,17 +51,23 @@ public class SchemasController {
     }
 
     /**
-     * GET /schemas - List all schemas.
+     * GET /schemas - List schema IDs (or full schemas with full=true) in ID order.
+     * Page with afterId set to the last ID of the previous page.
      */
     @GetMapping
-    public ResponseEntity<List<Integer>> listSchemas(
+    public ResponseEntity<List<?>> listSchemas(
             @RequestParam(required = false) String subjectPrefix,
             @RequestParam(defaultValue = "false") boolean deleted,
+            @RequestParam(defaultValue = "0") int afterId,
             @RequestParam(defaultValue = "100") int limit,
-            @RequestParam(defaultValue = "0") int offset
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "false") boolean full
     ) {
-        SubjectName subjectFilter = subjectPrefix != null ? SubjectName.of(subjectPrefix) : null;
-        List<SchemaId> schemaIds = schemaService.listAllSchemaIds(subjectFilter, deleted, limit, offset);
+        String prefix = subjectPrefix != null && !subjectPrefix.isBlank() ? subjectPrefix : null;
+        if (full) {
+            return ResponseEntity.ok(schemaService.listSchemas(prefix, deleted, afterId, limit, offset));
+        }
+        List<SchemaId> schemaIds = schemaService.listSchemaIds(prefix, deleted, afterId, limit, offset);
         List<Integer> ids = schemaIds.stream().map(SchemaId::getValue).toList();
         return ResponseEntity.ok(ids);
     }
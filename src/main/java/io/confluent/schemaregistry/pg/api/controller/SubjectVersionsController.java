@@ -1,22 +1,20 @@
 package io.confluent.schemaregistry.pg.api.controller;
 
-import io.confluent.schemaregistry.pg.api.exception.InvalidReferenceException;
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
 import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
-import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
 import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
-import io.confluent.schemaregistry.pg.domain.service.NormalizationService;
-import io.confluent.schemaregistry.pg.domain.service.ReferenceValidationService;
+import io.confluent.schemaregistry.pg.domain.service.GroupCommitRegistrar;
+import io.confluent.schemaregistry.pg.domain.service.RegistrationCoalescer;
+import io.confluent.schemaregistry.pg.domain.service.RegistrationContextFactory;
 import io.confluent.schemaregistry.pg.domain.service.SchemaService;
-import io.confluent.schemaregistry.pg.domain.service.SchemaValidationService;
 import io.confluent.schemaregistry.pg.domain.service.SubjectService;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
-import io.confluent.schemaregistry.pg.domain.value.SchemaType;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ReferenceIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,32 +28,32 @@ public class SubjectVersionsController {
 
     private final SubjectService subjectService;
     private final SchemaService schemaService;
-    private final NormalizationService normalizationService;
-    private final SchemaValidationService schemaValidationService;
-    private final ReferenceValidationService referenceValidationService;
+    private final RegistrationContextFactory registrationContextFactory;
+    private final RegistrationCoalescer registrationCoalescer;
+    private final GroupCommitRegistrar groupCommitRegistrar;
 
     public SubjectVersionsController(SubjectService subjectService,
                                      SchemaService schemaService,
-                                     NormalizationService normalizationService,
-                                     SchemaValidationService schemaValidationService,
-                                     ReferenceValidationService referenceValidationService) {
+                                     RegistrationContextFactory registrationContextFactory,
+                                     RegistrationCoalescer registrationCoalescer,
+                                     GroupCommitRegistrar groupCommitRegistrar) {
         this.subjectService = subjectService;
         this.schemaService = schemaService;
-        this.normalizationService = normalizationService;
-        this.schemaValidationService = schemaValidationService;
-        this.referenceValidationService = referenceValidationService;
+        this.registrationContextFactory = registrationContextFactory;
+        this.registrationCoalescer = registrationCoalescer;
+        this.groupCommitRegistrar = groupCommitRegistrar;
     }
 
     /**
      * GET /subjects/{subject}/versions - List all versions.
      */
     @GetMapping
-    public ResponseEntity<List<Integer>> listVersions(
+    public ResponseEntity<int[]> listVersions(
             @PathVariable String subject,
             @RequestParam(defaultValue = "false") boolean deleted
     ) {
         SubjectName subjectName = SubjectName.of(subject);
-        List<Integer> versions = subjectService.listVersions(subjectName, deleted);
+        int[] versions = subjectService.listVersions(subjectName, deleted);
         return ResponseEntity.ok(versions);
     }
 
@@ -70,39 +68,12 @@ public class SubjectVersionsController {
     ) {
         SubjectName subjectName = SubjectName.of(subject);
 
-        // Normalize schema if requested
-        String schemaText = request.getSchemaText();
-        SchemaType type = request.getSchemaType() != null ? request.getSchemaType() : SchemaType.AVRO;
-
-        if (normalize) {
-            schemaText = normalizationService.normalize(schemaText, type);
-        }
-
-        // Validate references
-        List<SchemaReference> references = request.getReferences() != null ? request.getReferences() : List.of();
-
-        // Validate schema structure (skip if has references - can't parse in isolation)
-        if (references.isEmpty()) {
-            schemaValidationService.validate(schemaText, type);
-        }
-        List<String> referenceErrors = referenceValidationService.validateReferences(references);
-        if (!referenceErrors.isEmpty()) {
-            throw new InvalidReferenceException(referenceErrors);
-        }
-
-        // Create schema entity
-        SchemaEntity schema = SchemaEntity.builder()
-                .schemaText(schemaText)
-                .schemaType(type)
-                .references(references)
-                .metadata(request.getMetadata())
-                .ruleSet(request.getRuleSet())
-                .createdAt(Instant.now())
-                .build();
-
-        // Register version (with optional explicit ID for IMPORT mode)
-        Integer explicitId = request.getId() != null ? request.getId().getValue() : null;
-        SubjectVersion sv = subjectService.registerVersion(subjectName, schema, explicitId);
+        // Identical concurrent requests share one registration; its context is built once and
+        // reused by every later stage
+        SubjectVersion sv = registrationCoalescer.register(subjectName, request, normalize, () -> {
+            RegistrationContext context = registrationContextFactory.create(subjectName, request, normalize);
+            return groupCommitRegistrar.register(context);
+        });
 
         return ResponseEntity.ok(sv.getSchemaId());
     }
@@ -162,20 +133,31 @@ public class SubjectVersionsController {
      * GET /subjects/{subject}/versions/{version}/referencedby - Get schema IDs that reference this version.
      */
     @GetMapping("/{version}/referencedby")
-    public ResponseEntity<List<Integer>> getReferencedBy(
+    public ResponseEntity<int[]> getReferencedBy(
             @PathVariable String subject,
             @PathVariable String version
     ) {
         SubjectName subjectName = SubjectName.of(subject);
         Version versionObj = Version.of(version);
 
-        // Verify the subject-version exists
-        subjectService.getVersion(subjectName, versionObj, false);
+        int[] referencingSchemaIds = subjectService.getReferencedBy(subjectName, versionObj);
+        return ResponseEntity.ok(referencingSchemaIds);
+    }
 
-        // Find all schema IDs that reference this subject-version
-        List<Integer> referencingSchemaIds = schemaService.getSchemaIdsReferencingSubjectVersion(subjectName, versionObj);
+    /**
+     * GET /subjects/{subject}/versions/{version}/dependents - Get every subject-version that depends on
+     * this version, directly or through other references.
+     */
+    @GetMapping("/{version}/dependents")
+    public ResponseEntity<List<ReferenceIndex.Dependent>> getDependents(
+            @PathVariable String subject,
+            @PathVariable String version,
+            @RequestParam(defaultValue = "false") boolean deleted
+    ) {
+        SubjectName subjectName = SubjectName.of(subject);
+        Version versionObj = Version.of(version);
 
-        return ResponseEntity.ok(referencingSchemaIds);
+        return ResponseEntity.ok(subjectService.getDependents(subjectName, versionObj, deleted));
     }
 
     /**
@@ -1,10 +1,10 @@
 package io.confluent.schemaregistry.pg.api.controller;
 
 import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SubjectPage;
 import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
 import io.confluent.schemaregistry.pg.domain.service.SchemaService;
 import io.confluent.schemaregistry.pg.domain.service.SubjectService;
-import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +20,8 @@ import java.util.Map;
 @RequestMapping("/subjects")
 public class SubjectsController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final SubjectService subjectService;
     private final SchemaService schemaService;
 
@@ -29,20 +31,29 @@ public class SubjectsController {
     }
 
     /**
-     * GET /subjects - List all subjects.
+     * GET /subjects - List subjects, optionally paged with limit and cursor.
+     * The cursor for the next page is returned in the X-Next-Cursor header.
      */
     @GetMapping
     public ResponseEntity<List<String>> listSubjects(
             @RequestParam(required = false) String subjectPrefix,
             @RequestParam(defaultValue = "false") boolean deleted,
-            @RequestParam(defaultValue = "false") boolean deletedOnly
+            @RequestParam(defaultValue = "false") boolean deletedOnly,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
-        List<String> subjects = subjectService.listSubjects(subjectPrefix, deleted, deletedOnly);
-        return ResponseEntity.ok(subjects);
+        SubjectPage page = subjectService.listSubjects(subjectPrefix, deleted, deletedOnly, limit, cursor);
+        if (page.getNextCursor() != null) {
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .body(page.getSubjects());
+        }
+        return ResponseEntity.ok(page.getSubjects());
     }
 
     /**
-     * POST /subjects/{subject} - Lookup schema under subject.
+     * POST /subjects/{subject} - Lookup schema under subject. The response carries the stored schema text,
+     * which differs from the request's when the match was found through normalization.
      */
     @PostMapping("/{subject}")
     public ResponseEntity<Map<String, Object>> lookupSchema(
@@ -52,16 +63,13 @@ public class SubjectsController {
             @RequestParam(defaultValue = "false") boolean deleted
     ) {
         SubjectName subjectName = SubjectName.of(subject);
-        Md5Hash schemaHash = Md5Hash.compute(request.getSchemaText());
-
-        SubjectVersion sv = subjectService.lookupSchema(subjectName, schemaHash);
-        SchemaEntity schema = schemaService.getById(sv.getSchemaId());
+        SubjectVersion sv = subjectService.lookupSchema(subjectName, request, normalize, deleted);
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("subject", sv.getSubject().getValue());
         response.put("id", sv.getSchemaId().getValue());
         response.put("version", sv.getVersion().getValue());
-        response.put("schema", schema.getSchemaText());
+        response.put("schema", schemaService.getById(sv.getSchemaId()).getSchemaText());
 
         return ResponseEntity.ok(response);
     }
@@ -70,12 +78,12 @@ public class SubjectsController {
      * DELETE /subjects/{subject} - Delete subject.
      */
     @DeleteMapping("/{subject}")
-    public ResponseEntity<List<Integer>> deleteSubject(
+    public ResponseEntity<int[]> deleteSubject(
             @PathVariable String subject,
             @RequestParam(defaultValue = "false") boolean permanent
     ) {
         SubjectName subjectName = SubjectName.of(subject);
-        List<Integer> deletedVersions = subjectService.deleteSubject(subjectName, permanent);
+        int[] deletedVersions = subjectService.deleteSubject(subjectName, permanent);
         return ResponseEntity.ok(deletedVersions);
     }
 }
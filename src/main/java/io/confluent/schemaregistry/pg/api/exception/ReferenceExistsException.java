@@ -0,0 +1,11 @@
+package io.confluent.schemaregistry.pg.api.exception;
+
+import org.springframework.http.HttpStatus;
+import java.util.Arrays;
+
+public class ReferenceExistsException extends SchemaRegistryException {
+    public ReferenceExistsException(String target, int[] schemaIds) {
+        super(42206, HttpStatus.UNPROCESSABLE_ENTITY,
+            "One or more references exist to " + target + ", from schema IDs " + Arrays.toString(schemaIds));
+    }
+}
@@ -0,0 +1,33 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One entry of a batch registration request: a subject and the schema to register under it.
+ */
+@Value
+@Builder
+public class BatchRegistrationEntry {
+    String subject;
+
+    SchemaEntity schema;
+
+    @JsonCreator
+    public static BatchRegistrationEntry fromJson(
+            @JsonProperty("subject") String subject,
+            @JsonProperty("schema") String schema,
+            @JsonProperty("schemaType") String schemaType,
+            @JsonProperty("references") List<SchemaReference> references,
+            @JsonProperty("metadata") Metadata metadata,
+            @JsonProperty("ruleSet") RuleSet ruleSet) {
+        return BatchRegistrationEntry.builder()
+                .subject(subject)
+                .schema(SchemaEntity.fromJson(null, schema, schemaType, references, metadata, ruleSet))
+                .build();
+    }
+}
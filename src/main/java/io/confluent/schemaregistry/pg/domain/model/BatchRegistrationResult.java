@@ -0,0 +1,25 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of one batch registration entry: the schema ID and version, or an error.
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchRegistrationResult {
+    String subject;
+
+    Integer id;
+
+    Integer version;
+
+    @JsonProperty("error_code")
+    Integer errorCode;
+
+    String message;
+}
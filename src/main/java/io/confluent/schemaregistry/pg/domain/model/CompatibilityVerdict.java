@@ -0,0 +1,17 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import lombok.Value;
+
+/**
+ * Outcome of checking whether a reader schema can read data written with a writer schema.
+ * Both schemas are immutable, so a verdict for a given (reader, writer) pair never changes.
+ */
+@Value
+public class CompatibilityVerdict {
+    boolean compatible;
+
+    /**
+     * Human-readable description of the result, as reported by Avro.
+     */
+    String description;
+}
@@ -0,0 +1,25 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of a bulk import: records read and rows actually inserted (existing rows are skipped).
+ */
+@Value
+@Builder
+public class ImportResult {
+    long records;
+
+    int chunks;
+
+    long schemasInserted;
+
+    long referencesInserted;
+
+    long subjectVersionsInserted;
+
+    int configsApplied;
+
+    long elapsedMs;
+}
@@ -0,0 +1,49 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import lombok.Builder;
+import lombok.Value;
+import org.apache.avro.Schema;
+
+/**
+ * Everything derived from a registration request, computed once and carried through
+ * validation, compatibility checking and persistence.
+ */
+@Value
+@Builder
+public class RegistrationContext {
+    /**
+     * Subject the schema is being registered under.
+     */
+    SubjectName subject;
+
+    /**
+     * Schema to persist: normalized text, MD5 hash, references, metadata and rule set.
+     */
+    SchemaEntity schema;
+
+    /**
+     * Parsed form of the schema text, with the named types of its references resolved.
+     */
+    Schema parsedSchema;
+
+    /**
+     * Key the parsed schema and its compatibility verdicts are cached under; null when a reference
+     * resolved through "latest" and neither may be cached.
+     */
+    Md5Hash cacheKey;
+
+    /**
+     * Explicit schema ID requested in IMPORT mode (null to assign one).
+     */
+    Integer explicitId;
+
+    public String getSchemaText() {
+        return schema.getSchemaText();
+    }
+
+    public Md5Hash getMd5Hash() {
+        return schema.getMd5Hash();
+    }
+}
@@ -47,6 +47,13 @@ public class SchemaEntity {
     @JsonIgnore
     Md5Hash md5Hash;
 
+    /**
+     * 64-bit Rabin fingerprint of the Avro parsing canonical form, used to find candidates for
+     * normalized lookups. Null when the schema could not be parsed on its own (e.g. it has references).
+     */
+    @JsonIgnore
+    Long canonicalFingerprint;
+
     /**
      * References to other schemas.
      */
@@ -0,0 +1,15 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of subject names, plus an opaque cursor for the next page (null on the last page).
+ */
+@Value
+public class SubjectPage {
+    List<String> subjects;
+
+    String nextCursor;
+}
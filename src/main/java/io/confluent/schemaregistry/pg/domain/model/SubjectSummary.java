@@ -0,0 +1,18 @@
+package io.confluent.schemaregistry.pg.domain.model;
+
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Catalog entry for a subject: how many of its versions are live and how many are soft-deleted.
+ */
+@Value
+@Builder
+public class SubjectSummary {
+    SubjectName subject;
+
+    int liveVersions;
+
+    int deletedVersions;
+}
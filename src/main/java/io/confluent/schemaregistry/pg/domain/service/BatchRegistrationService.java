@@ -0,0 +1,186 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.api.exception.SchemaRegistryException;
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationEntry;
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationResult;
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registers many schemas, across many subjects, in one call.
+ * <p>
+ * Preparation (normalize, hash, parse, reference validation) and the compatibility check run
+ * concurrently, one task per distinct subject. A subject's entries are checked in request order, each
+ * against the subject's history plus the entries queued before it. Everything is then persisted in a
+ * single transaction by {@link RegistrationWriter}, one savepoint per entry. The precheck is reused
+ * only if, with the subject locked, its latest version in the database is still the one the precheck
+ * saw; otherwise the check runs again.
+ */
+@Service
+public class BatchRegistrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchRegistrationService.class);
+
+    private final RegistrationContextFactory registrationContextFactory;
+    private final SubjectService subjectService;
+    private final RegistrationWriter registrationWriter;
+    private final ExecutorService prepareExecutor;
+    private final int maxEntries;
+
+    public BatchRegistrationService(RegistrationContextFactory registrationContextFactory,
+                                    SubjectService subjectService,
+                                    RegistrationWriter registrationWriter,
+                                    @Value("${schema-registry.batch.threads:0}") int threads,
+                                    @Value("${schema-registry.batch.max-entries:1000}") int maxEntries) {
+        this.registrationContextFactory = registrationContextFactory;
+        this.subjectService = subjectService;
+        this.registrationWriter = registrationWriter;
+        this.maxEntries = maxEntries;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.prepareExecutor = Executors.newFixedThreadPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-registration-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prepareExecutor.shutdown();
+    }
+
+    /**
+     * Register every entry and return one result per entry, in request order.
+     */
+    public List<BatchRegistrationResult> register(List<BatchRegistrationEntry> entries, boolean normalize) {
+        if (entries.size() > maxEntries) {
+            throw new IllegalArgumentException(
+                    "Batch has " + entries.size() + " entries, more than the maximum of " + maxEntries);
+        }
+        BatchRegistrationResult[] results = new BatchRegistrationResult[entries.size()];
+
+        // Group entry positions by subject; sorted so that persistence locks subjects in a fixed order
+        Map<String, List<Integer>> bySubject = new TreeMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String subject = entries.get(i).getSubject();
+            if (subject == null || entries.get(i).getSchema().getSchemaText() == null) {
+                results[i] = failure(subject, new IllegalArgumentException("Each entry needs a subject and a schema"));
+                continue;
+            }
+            bySubject.computeIfAbsent(subject, s -> new ArrayList<>()).add(i);
+        }
+
+        // Prepare and precheck subjects concurrently
+        List<CompletableFuture<SubjectBatch>> futures = new ArrayList<>();
+        bySubject.forEach((subject, positions) -> futures.add(CompletableFuture.supplyAsync(
+                () -> prepare(subject, positions, entries, normalize, results), prepareExecutor)));
+        List<SubjectBatch> batches = futures.stream().map(CompletableFuture::join).toList();
+
+        // Persist everything in one transaction, one savepoint per entry
+        List<RegistrationWriter.Write> writes = new ArrayList<>();
+        List<Prepared> written = new ArrayList<>();
+        for (SubjectBatch batch : batches) {
+            if (batch.entries().isEmpty()) {
+                continue;
+            }
+            for (Prepared entry : batch.entries()) {
+                writes.add(new RegistrationWriter.Write(entry.context(), batch.checkedLatest()));
+                written.add(entry);
+            }
+        }
+        List<RegistrationWriter.Outcome> outcomes = registrationWriter.writeAll(writes);
+        for (int i = 0; i < outcomes.size(); i++) {
+            Prepared entry = written.get(i);
+            String subject = entry.context().getSubject().getValue();
+            RegistrationWriter.Outcome outcome = outcomes.get(i);
+            results[entry.position()] = outcome.error() != null
+                    ? failure(subject, outcome.error())
+                    : BatchRegistrationResult.builder()
+                            .subject(subject)
+                            .id(outcome.saved().getSchemaId().getValue())
+                            .version(outcome.saved().getVersion().getValue())
+                            .build();
+        }
+
+        log.debug("Registered batch of {} entries across {} subjects", entries.size(), bySubject.size());
+        return Arrays.asList(results);
+    }
+
+    private SubjectBatch prepare(String subject, List<Integer> positions, List<BatchRegistrationEntry> entries,
+                                 boolean normalize, BatchRegistrationResult[] results) {
+        List<Prepared> prepared = new ArrayList<>();
+        SubjectName subjectName;
+        try {
+            subjectName = SubjectName.of(subject);
+        } catch (RuntimeException e) {
+            positions.forEach(i -> results[i] = failure(subject, e));
+            return new SubjectBatch(null, null, prepared);
+        }
+
+        // Mark the history the prechecks run against; read before them, so any later version invalidates them
+        Integer checkedLatest;
+        try {
+            checkedLatest = subjectService.latestVersionNumber(subjectName);
+        } catch (RuntimeException e) {
+            positions.forEach(i -> results[i] = failure(subject, e));
+            return new SubjectBatch(subjectName, null, prepared);
+        }
+        List<SchemaEntity> pending = new ArrayList<>(); // Newest first
+
+        for (int i : positions) {
+            try {
+                RegistrationContext context = registrationContextFactory.create(
+                        subjectName, entries.get(i).getSchema(), normalize);
+                if (subjectService.precheck(context, pending)) {
+                    pending.add(0, context.getSchema());
+                }
+                prepared.add(new Prepared(i, context));
+            } catch (RuntimeException e) {
+                results[i] = failure(subject, e);
+            }
+        }
+        return new SubjectBatch(subjectName, checkedLatest, prepared);
+    }
+
+    private static BatchRegistrationResult failure(String subject, RuntimeException e) {
+        int errorCode;
+        if (e instanceof SchemaRegistryException sre) {
+            errorCode = sre.getErrorCode();
+        } else if (e instanceof IllegalArgumentException) {
+            errorCode = 42201;
+        } else {
+            log.warn("Batch registration entry for subject {} failed", subject, e);
+            errorCode = 50001;
+        }
+        return BatchRegistrationResult.builder()
+                .subject(subject)
+                .errorCode(errorCode)
+                .message(e.getMessage())
+                .build();
+    }
+
+    private record Prepared(int position, RegistrationContext context) {
+    }
+
+    private record SubjectBatch(SubjectName subject, Integer checkedLatest, List<Prepared> entries) {
+    }
+}
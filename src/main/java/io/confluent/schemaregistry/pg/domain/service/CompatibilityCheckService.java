@@ -1,16 +1,29 @@
 package io.confluent.schemaregistry.pg.domain.service;
 
+import io.confluent.schemaregistry.pg.domain.model.CompatibilityVerdict;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
 import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.infrastructure.cache.CompatibilityVerdictCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ParsedSchemaCache;
 import io.confluent.kafka.schemaregistry.avro.AvroSchema;
 import io.confluent.kafka.schemaregistry.client.rest.entities.SchemaReference;
+import jakarta.annotation.PreDestroy;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaCompatibility;
 import org.apache.avro.SchemaCompatibility.SchemaPairCompatibility;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Service for checking Avro schema compatibility.
@@ -18,6 +31,40 @@ import java.util.List;
 @Service
 public class CompatibilityCheckService {
 
+    private final ParsedSchemaCache parsedSchemaCache;
+    private final CompatibilityVerdictCache verdictCache;
+    private final ReferenceResolver referenceResolver;
+    private final ExecutorService compatibilityExecutor;
+    private final boolean parallelEnabled;
+    private final int parallelThreshold;
+    private final boolean earlyExit;
+
+    public CompatibilityCheckService(ParsedSchemaCache parsedSchemaCache,
+                                     CompatibilityVerdictCache verdictCache,
+                                     ReferenceResolver referenceResolver,
+                                     @Value("${schema-registry.compatibility.parallel.enabled:false}") boolean parallelEnabled,
+                                     @Value("${schema-registry.compatibility.parallel.threshold:32}") int parallelThreshold,
+                                     @Value("${schema-registry.compatibility.parallel.threads:0}") int parallelThreads,
+                                     @Value("${schema-registry.compatibility.early-exit:false}") boolean earlyExit) {
+        this.parsedSchemaCache = parsedSchemaCache;
+        this.verdictCache = verdictCache;
+        this.referenceResolver = referenceResolver;
+        // Bounded pool, created only when parallel checks are enabled; 0 threads means one per processor
+        this.compatibilityExecutor = parallelEnabled
+                ? new ForkJoinPool(parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors())
+                : null;
+        this.parallelEnabled = parallelEnabled;
+        this.parallelThreshold = parallelThreshold;
+        this.earlyExit = earlyExit;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (compatibilityExecutor != null) {
+            compatibilityExecutor.shutdown();
+        }
+    }
+
     /**
      * Check if newSchema is compatible with existing schemas according to compatibility level.
      *
@@ -28,7 +75,7 @@ public class CompatibilityCheckService {
      */
     public List<String> checkCompatibility(
             String newSchemaText,
-            List<String> existingSchemas,
+            List<SchemaEntity> existingSchemas,
             CompatibilityLevel compatibilityLevel
     ) {
         if (compatibilityLevel == CompatibilityLevel.NONE) {
@@ -39,45 +86,155 @@ public class CompatibilityCheckService {
             return Collections.emptyList();
         }
 
+        Md5Hash newHash = Md5Hash.compute(newSchemaText);
+        Schema newSchema;
         try {
-            Schema newSchema = new Schema.Parser().parse(newSchemaText);
+            newSchema = parsedSchemaCache.get(newHash, newSchemaText);
+        } catch (Exception e) {
+            return List.of("Failed to parse schema for compatibility check: " + e.getMessage());
+        }
+
+        return checkCompatibility(newHash, newSchema, existingSchemas, compatibilityLevel);
+    }
+
+    /**
+     * Check if an already parsed newSchema is compatible with existing schemas according to compatibility level.
+     * Pairwise verdicts are memoized in {@link CompatibilityVerdictCache} under the cache keys of both
+     * schemas (see {@link ReferenceResolver.Parsed}); existing schemas are parsed through
+     * {@link ReferenceResolver}, so their references are resolved and warm parses are cache hits.
+     * Pairs where either key is null, because a reference resolved through "latest", are always checked.
+     *
+     * @param newKey             Cache key of the new schema, or null if it must not be cached
+     * @param newSchema          New schema, already parsed
+     * @param existingSchemas    Existing schemas (ordered from newest to oldest)
+     * @param compatibilityLevel Compatibility level to enforce
+     * @return List of compatibility errors (empty if compatible)
+     */
+    public List<String> checkCompatibility(
+            Md5Hash newKey,
+            Schema newSchema,
+            List<SchemaEntity> existingSchemas,
+            CompatibilityLevel compatibilityLevel
+    ) {
+        if (compatibilityLevel == CompatibilityLevel.NONE) {
+            return Collections.emptyList();
+        }
 
+        if (existingSchemas == null || existingSchemas.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
             // Determine how many schemas to check based on transitive flag
-            List<String> schemasToCheck = compatibilityLevel.isTransitive()
+            List<SchemaEntity> schemasToCheck = compatibilityLevel.isTransitive()
                     ? existingSchemas
                     : List.of(existingSchemas.get(0)); // Only check against latest
 
-            List<String> errors = new ArrayList<>();
+            return parallelEnabled && schemasToCheck.size() >= parallelThreshold
+                    ? checkInParallel(newKey, newSchema, schemasToCheck, compatibilityLevel)
+                    : checkSequentially(newKey, newSchema, schemasToCheck, compatibilityLevel);
+
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            return List.of("Failed to parse schema for compatibility check: " + cause.getMessage());
+        }
+    }
+
+    private List<String> checkSequentially(
+            Md5Hash newKey,
+            Schema newSchema,
+            List<SchemaEntity> schemasToCheck,
+            CompatibilityLevel compatibilityLevel
+    ) {
+        List<String> errors = new ArrayList<>();
+        for (SchemaEntity existing : schemasToCheck) {
+            errors.addAll(checkAgainst(newKey, newSchema, existing, compatibilityLevel));
+            if (earlyExit && !errors.isEmpty()) {
+                break;
+            }
+        }
+        return errors;
+    }
 
-            for (String existingSchemaText : schemasToCheck) {
-                Schema existingSchema = new Schema.Parser().parse(existingSchemaText);
+    /**
+     * Check against each existing schema on the compatibility executor. Errors are reported in the same
+     * order as the sequential path. With early exit, checks after the first (oldest-index) failure are skipped,
+     * so the reported failure is the same one the sequential path would stop at.
+     */
+    private List<String> checkInParallel(
+            Md5Hash newKey,
+            Schema newSchema,
+            List<SchemaEntity> schemasToCheck,
+            CompatibilityLevel compatibilityLevel
+    ) {
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(schemasToCheck.size());
 
-                if (compatibilityLevel.isBackward() || compatibilityLevel == CompatibilityLevel.FULL || compatibilityLevel == CompatibilityLevel.FULL_TRANSITIVE) {
-                    // Check backward compatibility: new schema can read data written with old schema
-                    SchemaPairCompatibility backwardResult = SchemaCompatibility.checkReaderWriterCompatibility(
-                            newSchema, existingSchema
-                    );
-                    if (backwardResult.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
-                        errors.add("Backward compatibility check failed: " + backwardResult.getDescription());
-                    }
+        for (int i = 0; i < schemasToCheck.size(); i++) {
+            int index = i;
+            SchemaEntity existing = schemasToCheck.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                if (earlyExit && index > firstFailure.get()) {
+                    return List.of();
                 }
-
-                if (compatibilityLevel.isForward() || compatibilityLevel == CompatibilityLevel.FULL || compatibilityLevel == CompatibilityLevel.FULL_TRANSITIVE) {
-                    // Check forward compatibility: old schema can read data written with new schema
-                    SchemaPairCompatibility forwardResult = SchemaCompatibility.checkReaderWriterCompatibility(
-                            existingSchema, newSchema
-                    );
-                    if (forwardResult.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
-                        errors.add("Forward compatibility check failed: " + forwardResult.getDescription());
-                    }
+                List<String> result = checkAgainst(newKey, newSchema, existing, compatibilityLevel);
+                if (!result.isEmpty()) {
+                    firstFailure.accumulateAndGet(index, Math::min);
                 }
+                return result;
+            }, compatibilityExecutor));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (CompletableFuture<List<String>> future : futures) {
+            errors.addAll(future.join());
+            if (earlyExit && !errors.isEmpty()) {
+                futures.forEach(f -> f.cancel(false));
+                break;
             }
+        }
+        return errors;
+    }
 
-            return errors;
+    private List<String> checkAgainst(
+            Md5Hash newKey,
+            Schema newSchema,
+            SchemaEntity existing,
+            CompatibilityLevel compatibilityLevel
+    ) {
+        List<String> errors = new ArrayList<>(2);
+        ReferenceResolver.Parsed parsed = referenceResolver.parse(existing);
 
-        } catch (Exception e) {
-            return List.of("Failed to parse schema for compatibility check: " + e.getMessage());
+        if (compatibilityLevel.isBackward() || compatibilityLevel == CompatibilityLevel.FULL || compatibilityLevel == CompatibilityLevel.FULL_TRANSITIVE) {
+            // Check backward compatibility: new schema can read data written with old schema
+            CompatibilityVerdict backwardResult = verdict(newKey, parsed.cacheKey(),
+                    () -> check(newSchema, parsed.schema()));
+            if (!backwardResult.isCompatible()) {
+                errors.add("Backward compatibility check failed: " + backwardResult.getDescription());
+            }
         }
+
+        if (compatibilityLevel.isForward() || compatibilityLevel == CompatibilityLevel.FULL || compatibilityLevel == CompatibilityLevel.FULL_TRANSITIVE) {
+            // Check forward compatibility: old schema can read data written with new schema
+            CompatibilityVerdict forwardResult = verdict(parsed.cacheKey(), newKey,
+                    () -> check(parsed.schema(), newSchema));
+            if (!forwardResult.isCompatible()) {
+                errors.add("Forward compatibility check failed: " + forwardResult.getDescription());
+            }
+        }
+
+        return errors;
+    }
+
+    private CompatibilityVerdict verdict(Md5Hash readerKey, Md5Hash writerKey, Supplier<CompatibilityVerdict> check) {
+        return readerKey == null || writerKey == null ? check.get() : verdictCache.get(readerKey, writerKey, check);
+    }
+
+    private static CompatibilityVerdict check(Schema reader, Schema writer) {
+        SchemaPairCompatibility result = SchemaCompatibility.checkReaderWriterCompatibility(reader, writer);
+        return new CompatibilityVerdict(
+                result.getType() == SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE,
+                result.getDescription());
     }
 
     /**
@@ -85,8 +242,8 @@ public class CompatibilityCheckService {
      */
     public boolean areSchemasIdentical(String schema1, String schema2) {
         try {
-            Schema s1 = new Schema.Parser().parse(schema1);
-            Schema s2 = new Schema.Parser().parse(schema2);
+            Schema s1 = parsedSchemaCache.get(schema1);
+            Schema s2 = parsedSchemaCache.get(schema2);
             return s1.equals(s2);
         } catch (Exception e) {
             return false;
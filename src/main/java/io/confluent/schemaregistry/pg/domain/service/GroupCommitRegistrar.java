@@ -0,0 +1,189 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.infrastructure.locking.SubjectLocks;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional group commit for single registrations.
+ * <p>
+ * When enabled, request threads queue their prepared registration and wait on a future. Writer threads
+ * collect queued registrations until either the batch is full or the window since the first one has
+ * elapsed, then persist the whole batch through {@link RegistrationWriter}, paying one commit for many
+ * registrations. Futures complete only after the commit. A full queue blocks new callers (backpressure).
+ * When disabled, registrations go straight to {@link SubjectService#registerVersion}, each taking its
+ * subject's in-process lock before its transaction (and pooled connection) starts.
+ */
+@Service
+public class GroupCommitRegistrar {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitRegistrar.class);
+
+    private final SubjectService subjectService;
+    private final RegistrationWriter registrationWriter;
+    private final SubjectLocks subjectLocks;
+    private final boolean enabled;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final int writers;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSizes;
+
+    private ExecutorService writerExecutor;
+    private volatile boolean running;
+
+    public GroupCommitRegistrar(SubjectService subjectService,
+                                RegistrationWriter registrationWriter,
+                                SubjectLocks subjectLocks,
+                                MeterRegistry meterRegistry,
+                                @Value("${schema-registry.registration.group-commit.enabled:false}") boolean enabled,
+                                @Value("${schema-registry.registration.group-commit.max-delay-ms:2}") long maxDelayMs,
+                                @Value("${schema-registry.registration.group-commit.max-batch-size:64}") int maxBatchSize,
+                                @Value("${schema-registry.registration.group-commit.writers:2}") int writers) {
+        this.subjectService = subjectService;
+        this.registrationWriter = registrationWriter;
+        this.subjectLocks = subjectLocks;
+        this.enabled = enabled;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.maxBatchSize = maxBatchSize;
+        this.writers = writers;
+        this.queue = new LinkedBlockingQueue<>(maxBatchSize * writers * 16);
+        this.batchSizes = DistributionSummary.builder("schema.registry.registration.group-commit.batch.size")
+                .description("Registrations persisted per group-commit transaction")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadCount = new AtomicInteger();
+        writerExecutor = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "group-commit-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writers; i++) {
+            writerExecutor.execute(this::runWriter);
+        }
+        log.info("Group commit enabled: up to {} registrations or {} us per transaction, {} writers",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxDelayNanos), writers);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writerExecutor != null) {
+            writerExecutor.shutdownNow();
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Registry is shutting down"));
+        }
+    }
+
+    public SubjectVersion register(RegistrationContext context) {
+        if (!enabled) {
+            // Wait for the subject before checking out a connection; the transaction re-enters the lock
+            return subjectLocks.callLocked(context.getSubject(), () -> subjectService.registerVersion(context));
+        }
+
+        Pending pending = new Pending(context, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing registration", e);
+        }
+
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> p.result().completeExceptionally(
+                        new IllegalStateException("Registry is shutting down")));
+                return;
+            } catch (Throwable t) {
+                // Keep the writer alive; no caller may be left waiting on this batch
+                log.error("Group commit writer failed on a batch of {} registrations", batch.size(), t);
+                batch.forEach(p -> p.result().completeExceptionally(t));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<RegistrationWriter.Outcome> outcomes = registrationWriter.writeAll(
+                    batch.stream().map(p -> new RegistrationWriter.Write(p.context(), null)).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                RegistrationWriter.Outcome outcome = outcomes.get(i);
+                if (outcome.error() != null) {
+                    batch.get(i).result().completeExceptionally(outcome.error());
+                } else {
+                    batch.get(i).result().complete(outcome.saved());
+                }
+            }
+        } catch (Throwable t) {
+            // The writer reports failures per registration, so this is unexpected; fail the whole batch.
+            // Errors are caught too, or callers would wait forever on futures nobody completes.
+            log.warn("Group commit of {} registrations failed", batch.size(), t);
+            batch.forEach(p -> p.result().completeExceptionally(t));
+        }
+    }
+
+    private record Pending(RegistrationContext context, CompletableFuture<SubjectVersion> result) {
+    }
+}
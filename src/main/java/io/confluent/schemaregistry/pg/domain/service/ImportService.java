@@ -0,0 +1,375 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.schemaregistry.pg.domain.model.GlobalConfig;
+import io.confluent.schemaregistry.pg.domain.model.ImportResult;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectConfig;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.CanonicalFingerprint;
+import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.Mode;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventBus;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of NDJSON records into an empty or partially populated registry.
+ * <p>
+ * Accepts two record shapes, which may be mixed:
+ * <ul>
+ *     <li>Combined records without a {@code type}: {@code id, subject, version, schema}, plus optional
+ *     {@code schemaType}, {@code references} and {@code deleted}.</li>
+ *     <li>The typed records written by {@link ExportService}: {@code config}, {@code schema},
+ *     {@code reference} and {@code subject_version}.</li>
+ * </ul>
+ * Records are read one at a time and written in chunks, each chunk in its own transaction using one
+ * JDBC batch per table. The request stream is not read while a chunk is being written, which is the
+ * backpressure. Rows that already exist with the same content are skipped, so a failed import can simply
+ * be re-run; a record whose ID, hash or key is already taken by different content fails the import with
+ * its record number. Subjects must be in IMPORT mode. Configs are applied after all data, since they
+ * usually switch the mode back.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private final SchemaRepository schemaRepository;
+    private final SchemaReferenceRepository schemaReferenceRepository;
+    private final SubjectVersionRepository subjectVersionRepository;
+    private final ConfigRepository configRepository;
+    private final ConfigCache configCache;
+    private final ChangeEventBus changeEventBus;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ImportService(SchemaRepository schemaRepository,
+                         SchemaReferenceRepository schemaReferenceRepository,
+                         SubjectVersionRepository subjectVersionRepository,
+                         ConfigRepository configRepository,
+                         ConfigCache configCache,
+                         ChangeEventBus changeEventBus,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${schema-registry.import.chunk-size:5000}") int chunkSize) {
+        this.schemaRepository = schemaRepository;
+        this.schemaReferenceRepository = schemaReferenceRepository;
+        this.subjectVersionRepository = subjectVersionRepository;
+        this.configRepository = configRepository;
+        this.configCache = configCache;
+        this.changeEventBus = changeEventBus;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importRecords(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Totals totals = new Totals();
+        List<JsonNode> configs = new ArrayList<>();
+        Chunk chunk = new Chunk();
+
+        try {
+            try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+                while (records.hasNextValue()) {
+                    JsonNode record = records.nextValue();
+                    totals.records++;
+                    try {
+                        addRecord(record, totals.records, chunk, configs);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Import record " + totals.records + ": " + e.getMessage(), e);
+                    }
+
+                    if (chunk.size() >= chunkSize) {
+                        flush(chunk, totals, start);
+                        chunk = new Chunk();
+                    }
+                }
+            }
+            flush(chunk, totals, start);
+
+            transactionTemplate.executeWithoutResult(status -> configs.forEach(this::applyConfig));
+        } finally {
+            // Chunks already committed stay even when a later one fails, so account for them either way
+            if (totals.chunks > 0) {
+                schemaRepository.resetIdSequence();
+                // Caches on every node were bypassed by the batch writes
+                changeEventBus.publish(ChangeEvent.resync());
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import finished: {} records in {} chunks, inserted {} schemas, {} references, {} subject-versions, "
+                        + "applied {} configs in {} ms",
+                totals.records, totals.chunks, totals.schemas, totals.references, totals.subjectVersions,
+                configs.size(), elapsedMs);
+
+        return ImportResult.builder()
+                .records(totals.records)
+                .chunks(totals.chunks)
+                .schemasInserted(totals.schemas)
+                .referencesInserted(totals.references)
+                .subjectVersionsInserted(totals.subjectVersions)
+                .configsApplied(configs.size())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private void addRecord(JsonNode record, long recordNumber, Chunk chunk, List<JsonNode> configs) {
+        String type = record.path("type").asText("");
+        switch (type) {
+            case "" -> {
+                SchemaId schemaId = SchemaId.of(requiredInt(record, "id"));
+                chunk.addSchema(schema(schemaId, record), recordNumber);
+                if (record.hasNonNull("references")) {
+                    for (JsonNode reference : record.get("references")) {
+                        chunk.addReference(schemaId, reference(reference), recordNumber);
+                    }
+                }
+                chunk.addVersion(subjectVersion(record, schemaId), recordNumber);
+            }
+            case "schema" -> chunk.addSchema(schema(SchemaId.of(requiredInt(record, "id")), record), recordNumber);
+            case "reference" -> chunk.addReference(
+                    SchemaId.of(requiredInt(record, "schemaId")), reference(record), recordNumber);
+            case "subject_version" -> chunk.addVersion(
+                    subjectVersion(record, SchemaId.of(requiredInt(record, "schemaId"))), recordNumber);
+            case "config" -> configs.add(record);
+            default -> throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    private void flush(Chunk chunk, Totals totals, long start) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        int[] inserted = transactionTemplate.execute(status -> {
+            int[] counts = {
+                    schemaRepository.insertAllIgnoringConflicts(chunk.schemas.values()),
+                    schemaReferenceRepository.insertAllIgnoringConflicts(chunk.references),
+                    subjectVersionRepository.insertAllIgnoringConflicts(chunk.versions)
+            };
+            // Skipped rows must be exact duplicates; anything else would leave versions on the wrong schema
+            verify(chunk);
+            return counts;
+        });
+
+        totals.chunks++;
+        totals.schemas += inserted[0];
+        totals.references += inserted[1];
+        totals.subjectVersions += inserted[2];
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        log.info("Import chunk {}: {} rows, inserted {} schemas, {} references, {} subject-versions; "
+                        + "{} records so far ({} records/s)",
+                totals.chunks, chunk.size(), inserted[0], inserted[1], inserted[2],
+                totals.records, Math.round(totals.records / seconds));
+    }
+
+    /**
+     * Fail the chunk's transaction if any of its rows was skipped because different content already holds
+     * its ID, hash or key.
+     */
+    private void verify(Chunk chunk) {
+        List<SchemaId> schemas = schemaRepository.findConflicts(chunk.schemas.values());
+        if (!schemas.isEmpty()) {
+            SchemaId id = schemas.get(0);
+            throw conflict(chunk.schemaRecords.get(id.getValue()),
+                    "schema " + id.getValue() + " conflicts with a stored schema with a different ID or content");
+        }
+        List<Map.Entry<SchemaId, String>> references = schemaReferenceRepository.findConflicts(chunk.references);
+        if (!references.isEmpty()) {
+            Map.Entry<SchemaId, String> reference = references.get(0);
+            throw conflict(chunk.referenceRecords.get(reference),
+                    "reference " + reference.getValue() + " of schema " + reference.getKey().getValue()
+                            + " is already stored with a different subject or version");
+        }
+        List<SubjectVersion> versions = subjectVersionRepository.findConflicts(chunk.versions);
+        if (!versions.isEmpty()) {
+            SubjectVersion version = versions.get(0);
+            throw conflict(chunk.versionRecords.get(Map.entry(version.getSubject(), version.getVersion())),
+                    "subject " + version.getSubject().getValue() + " version " + version.getVersion()
+                            + " is already stored with a different schema");
+        }
+    }
+
+    private static IllegalArgumentException conflict(Long recordNumber, String message) {
+        return new IllegalArgumentException("Import record " + recordNumber + ": " + message);
+    }
+
+    private SchemaEntity schema(SchemaId schemaId, JsonNode record) {
+        String text = requiredText(record, "schema");
+        return SchemaEntity.builder()
+                .id(schemaId)
+                .schemaText(text)
+                .schemaType(record.hasNonNull("schemaType")
+                        ? SchemaType.from(record.get("schemaType").asText())
+                        : SchemaType.AVRO)
+                .md5Hash(Md5Hash.compute(text))
+                .canonicalFingerprint(CanonicalFingerprint.compute(text))
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private SchemaReference reference(JsonNode record) {
+        return SchemaReference.builder()
+                .name(requiredText(record, "name"))
+                .subject(SubjectName.of(requiredText(record, "subject")))
+                .version(Version.of(requiredInt(record, "version")))
+                .build();
+    }
+
+    private SubjectVersion subjectVersion(JsonNode record, SchemaId schemaId) {
+        SubjectName subject = SubjectName.of(requiredText(record, "subject"));
+        Mode mode = configCache.getEffectiveMode(subject);
+        if (!mode.isImportMode()) {
+            throw new IllegalStateException("Import requires IMPORT mode, but subject " + subject.getValue()
+                    + " is in " + mode + " mode");
+        }
+        return SubjectVersion.builder()
+                .subject(subject)
+                .version(Version.of(requiredInt(record, "version")))
+                .schemaId(schemaId)
+                .deleted(record.path("deleted").asBoolean(false))
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private void applyConfig(JsonNode record) {
+        CompatibilityLevel compatibility = record.hasNonNull("compatibility")
+                ? CompatibilityLevel.from(record.get("compatibility").asText())
+                : null;
+        Mode mode = record.hasNonNull("mode") ? Mode.from(record.get("mode").asText()) : null;
+        String compatibilityGroup = record.hasNonNull("compatibilityGroup")
+                ? record.get("compatibilityGroup").asText()
+                : null;
+
+        if (!record.hasNonNull("subject")) {
+            GlobalConfig current = configRepository.getGlobalConfig();
+            configRepository.updateGlobalConfig(current
+                    .withCompatibility(compatibility != null ? compatibility : current.getCompatibility())
+                    .withMode(mode != null ? mode : current.getMode())
+                    .withCompatibilityGroup(compatibilityGroup));
+            return;
+        }
+
+        configRepository.saveSubjectConfig(SubjectConfig.builder()
+                .subject(SubjectName.of(record.get("subject").asText()))
+                .compatibility(compatibility)
+                .mode(mode)
+                .compatibilityGroup(compatibilityGroup)
+                .alias(record.hasNonNull("alias") ? record.get("alias").asText() : null)
+                .normalize(record.path("normalize").asBoolean(false))
+                .build());
+    }
+
+    private static int requiredInt(JsonNode record, String field) {
+        JsonNode value = record.get(field);
+        if (value == null || !value.canConvertToInt()) {
+            throw new IllegalArgumentException("Missing or invalid integer field '" + field + "'");
+        }
+        return value.asInt();
+    }
+
+    private static String requiredText(JsonNode record, String field) {
+        JsonNode value = record.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Missing or invalid string field '" + field + "'");
+        }
+        return value.asText();
+    }
+
+    /**
+     * Rows buffered for the next transaction, with the record number each came from. Schemas are
+     * de-duplicated by ID, since combined records repeat a schema for every subject-version that uses it;
+     * a repeat with different content is rejected.
+     */
+    private static final class Chunk {
+        final Map<Integer, SchemaEntity> schemas = new LinkedHashMap<>();
+        final Map<SchemaId, List<SchemaReference>> references = new LinkedHashMap<>();
+        final List<SubjectVersion> versions = new ArrayList<>();
+        final Map<Integer, Long> schemaRecords = new HashMap<>();
+        final Map<Map.Entry<SchemaId, String>, Long> referenceRecords = new HashMap<>();
+        final Map<Map.Entry<SubjectName, Version>, Long> versionRecords = new HashMap<>();
+        final Map<Map.Entry<SubjectName, Version>, SchemaId> versionSchemas = new HashMap<>();
+        int referenceCount;
+
+        void addSchema(SchemaEntity schema, long recordNumber) {
+            SchemaEntity existing = schemas.putIfAbsent(schema.getId().getValue(), schema);
+            if (existing == null) {
+                schemaRecords.put(schema.getId().getValue(), recordNumber);
+            } else if (!existing.getMd5Hash().equals(schema.getMd5Hash())) {
+                throw new IllegalArgumentException("schema " + schema.getId().getValue()
+                        + " differs from record " + schemaRecords.get(schema.getId().getValue()));
+            }
+        }
+
+        void addReference(SchemaId schemaId, SchemaReference reference, long recordNumber) {
+            List<SchemaReference> list = references.computeIfAbsent(schemaId, id -> new ArrayList<>());
+            for (SchemaReference existing : list) {
+                if (existing.getName().equals(reference.getName())) {
+                    if (!existing.equals(reference)) {
+                        throw new IllegalArgumentException("reference " + reference.getName() + " of schema "
+                                + schemaId.getValue() + " differs from record "
+                                + referenceRecords.get(Map.entry(schemaId, reference.getName())));
+                    }
+                    return;
+                }
+            }
+            list.add(reference);
+            referenceRecords.put(Map.entry(schemaId, reference.getName()), recordNumber);
+            referenceCount++;
+        }
+
+        void addVersion(SubjectVersion version, long recordNumber) {
+            Map.Entry<SubjectName, Version> key = Map.entry(version.getSubject(), version.getVersion());
+            SchemaId existing = versionSchemas.putIfAbsent(key, version.getSchemaId());
+            if (existing != null && !existing.equals(version.getSchemaId())) {
+                throw new IllegalArgumentException("subject " + version.getSubject().getValue() + " version "
+                        + version.getVersion() + " differs from record " + versionRecords.get(key));
+            }
+            versions.add(version);
+            versionRecords.putIfAbsent(key, recordNumber);
+        }
+
+        int size() {
+            return schemas.size() + referenceCount + versions.size();
+        }
+    }
+
+    private static final class Totals {
+        long records;
+        int chunks;
+        long schemas;
+        long references;
+        long subjectVersions;
+    }
+}
@@ -1,17 +1,289 @@
 package io.confluent.schemaregistry.pg.domain.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.infrastructure.cache.NormalizedSchemaCache;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Service for normalizing schemas.
+ * <p>
+ * Rewrites an Avro schema into one canonical JSON text without changing its meaning:
+ * <ul>
+ *   <li>named types carry their full name, with {@code namespace} folded in, and references to named
+ *       types are written as the full name they resolve to: like the Avro parser, a bare name resolves in
+ *       the enclosing namespace if a type of that name is defined before it, and in the null namespace
+ *       otherwise</li>
+ *   <li>relative aliases of named types are qualified with the type's namespace</li>
+ *   <li>{@code {"type": "int"}} without other attributes becomes {@code "int"}</li>
+ *   <li>object keys come in a fixed order: the structural keys first, then every other attribute
+ *       (doc, default, aliases, logicalType, order, custom properties) sorted by name</li>
+ *   <li>no insignificant whitespace</li>
+ * </ul>
+ * Docs, defaults, logical types, aliases and custom properties are kept. Text that is not valid JSON is
+ * returned unchanged so that validation reports the error. Results are memoized by raw-text hash.
  */
 @Service
 public class NormalizationService {
 
+    private static final Set<String> PRIMITIVES = Set.of(
+            "null", "boolean", "int", "long", "float", "double", "bytes", "string");
+
+    /**
+     * Keys written first, in this order; all others follow sorted by name.
+     */
+    private static final List<String> STRUCTURAL_KEYS = List.of(
+            "name", "type", "fields", "symbols", "items", "values", "size");
+
+    private final ObjectMapper objectMapper;
+    private final NormalizedSchemaCache normalizedSchemaCache;
+
+    public NormalizationService(ObjectMapper objectMapper, NormalizedSchemaCache normalizedSchemaCache) {
+        this.objectMapper = objectMapper;
+        this.normalizedSchemaCache = normalizedSchemaCache;
+    }
+
     public String normalize(String schemaText, SchemaType type) {
-        // TODO: Implement Avro schema normalization (canonical form)
-        // For now, return as-is
-        return schemaText;
+        if (type != SchemaType.AVRO || schemaText == null) {
+            return schemaText;
+        }
+        return normalizedSchemaCache.get(Md5Hash.compute(schemaText), hash -> canonicalize(schemaText));
+    }
+
+    private String canonicalize(String schemaText) {
+        try {
+            JsonNode root = objectMapper.readTree(schemaText);
+            if (root == null || root.isMissingNode()) {
+                return schemaText;
+            }
+            return objectMapper.writeValueAsString(schema(root, "", new HashSet<>()));
+        } catch (JsonProcessingException e) {
+            return schemaText;
+        }
+    }
+
+    /**
+     * Canonicalize a schema appearing where the enclosing namespace is {@code namespace} ("" for none).
+     * {@code defined} collects the full names of the named types defined so far, in parse order.
+     */
+    private JsonNode schema(JsonNode node, String namespace, Set<String> defined) {
+        if (node.isTextual()) {
+            return TextNode.valueOf(reference(node.asText(), namespace, defined));
+        }
+        if (node.isArray()) {
+            ArrayNode union = objectMapper.createArrayNode();
+            node.forEach(branch -> union.add(schema(branch, namespace, defined)));
+            return union;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+
+        JsonNode typeNode = node.get("type");
+        if (typeNode == null) {
+            return sortKeys(node);
+        }
+        if (!typeNode.isTextual()) {
+            // A schema wrapped in "type"; unwrap it unless other attributes ride along
+            JsonNode wrapped = schema(typeNode, namespace, defined);
+            return node.size() == 1 ? wrapped : withType(node, wrapped);
+        }
+
+        String type = typeNode.asText();
+        switch (type) {
+            case "record", "error" -> {
+                String fullName = fullName(node, namespace);
+                String childNamespace = namespaceOf(fullName);
+                defined.add(fullName); // Before the fields, which may refer back to the record
+                ObjectNode result = named(node, type, fullName, namespace);
+                ArrayNode fields = objectMapper.createArrayNode();
+                node.path("fields").forEach(field -> fields.add(field(field, childNamespace, defined)));
+                result.set("fields", fields);
+                return ordered(result, node, Set.of("name", "namespace", "type", "fields", "aliases"));
+            }
+            case "enum" -> {
+                String fullName = fullName(node, namespace);
+                defined.add(fullName);
+                ObjectNode result = named(node, type, fullName, namespace);
+                if (node.has("symbols")) {
+                    result.set("symbols", node.get("symbols"));
+                }
+                return ordered(result, node, Set.of("name", "namespace", "type", "symbols", "aliases"));
+            }
+            case "fixed" -> {
+                String fullName = fullName(node, namespace);
+                defined.add(fullName);
+                ObjectNode result = named(node, type, fullName, namespace);
+                if (node.has("size")) {
+                    result.set("size", node.get("size"));
+                }
+                return ordered(result, node, Set.of("name", "namespace", "type", "size", "aliases"));
+            }
+            case "array" -> {
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("type", type);
+                if (node.has("items")) {
+                    result.set("items", schema(node.get("items"), namespace, defined));
+                }
+                return ordered(result, node, Set.of("type", "items"));
+            }
+            case "map" -> {
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("type", type);
+                if (node.has("values")) {
+                    result.set("values", schema(node.get("values"), namespace, defined));
+                }
+                return ordered(result, node, Set.of("type", "values"));
+            }
+            default -> {
+                // Primitive (possibly with a logical type) or a reference to a named type
+                String resolved = reference(type, namespace, defined);
+                if (node.size() == 1) {
+                    return TextNode.valueOf(resolved);
+                }
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("type", resolved);
+                return ordered(result, node, Set.of("type"));
+            }
+        }
+    }
+
+    private JsonNode field(JsonNode field, String namespace, Set<String> defined) {
+        if (!field.isObject()) {
+            return field;
+        }
+        ObjectNode result = objectMapper.createObjectNode();
+        if (field.has("name")) {
+            result.set("name", field.get("name"));
+        }
+        if (field.has("type")) {
+            result.set("type", schema(field.get("type"), namespace, defined));
+        }
+        return ordered(result, field, Set.of("name", "type"));
+    }
+
+    /**
+     * Start a named type: full name, an explicit empty namespace when the full name has none but the
+     * enclosing namespace would otherwise apply, type, and aliases qualified against the type's namespace.
+     */
+    private ObjectNode named(JsonNode node, String type, String fullName, String enclosingNamespace) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("name", fullName);
+        if (fullName.indexOf('.') < 0 && !enclosingNamespace.isEmpty()) {
+            result.put("namespace", "");
+        }
+        result.put("type", type);
+        JsonNode aliases = node.get("aliases");
+        if (aliases != null && aliases.isArray()) {
+            String namespace = namespaceOf(fullName);
+            ArrayNode qualified = objectMapper.createArrayNode();
+            aliases.forEach(alias -> qualified.add(alias.isTextual()
+                    ? qualify(alias.asText(), namespace)
+                    : alias.asText()));
+            result.set("aliases", qualified);
+        } else if (aliases != null) {
+            result.set("aliases", aliases);
+        }
+        return result;
+    }
+
+    /**
+     * Append the attributes of {@code source} not already handled, sorted by name, after the structural
+     * keys already in {@code result}, which are re-put in canonical order.
+     */
+    private ObjectNode ordered(ObjectNode result, JsonNode source, Set<String> handled) {
+        ObjectNode ordered = objectMapper.createObjectNode();
+        for (String key : STRUCTURAL_KEYS) {
+            if (result.has(key)) {
+                ordered.set(key, result.get(key));
+            }
+        }
+        List<String> others = new ArrayList<>();
+        result.fieldNames().forEachRemaining(key -> {
+            if (!STRUCTURAL_KEYS.contains(key)) {
+                others.add(key);
+            }
+        });
+        source.fieldNames().forEachRemaining(key -> {
+            if (!handled.contains(key) && !STRUCTURAL_KEYS.contains(key)) {
+                others.add(key);
+            }
+        });
+        others.sort(null);
+        for (String key : others) {
+            ordered.set(key, result.has(key) ? result.get(key) : sortKeys(source.get(key)));
+        }
+        return ordered;
+    }
+
+    private ObjectNode withType(JsonNode node, JsonNode type) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("type", type);
+        return ordered(result, node, Set.of("type"));
+    }
+
+    /**
+     * Sort object keys recursively, e.g. in default values, where key order carries no meaning.
+     */
+    private JsonNode sortKeys(JsonNode node) {
+        if (node.isArray()) {
+            ArrayNode result = objectMapper.createArrayNode();
+            node.forEach(element -> result.add(sortKeys(element)));
+            return result;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+        List<String> keys = new ArrayList<>();
+        node.fieldNames().forEachRemaining(keys::add);
+        keys.sort(null);
+        ObjectNode result = objectMapper.createObjectNode();
+        for (String key : keys) {
+            result.set(key, sortKeys(node.get(key)));
+        }
+        return result;
+    }
+
+    private static String fullName(JsonNode node, String enclosingNamespace) {
+        String name = node.path("name").asText("");
+        if (name.indexOf('.') >= 0) {
+            return name;
+        }
+        JsonNode namespace = node.get("namespace");
+        return qualify(name, namespace != null && !namespace.isNull() ? namespace.asText() : enclosingNamespace);
+    }
+
+    /**
+     * Resolve a type name used as a reference the way the Avro parser does: primitives and full names stay
+     * as they are; a bare name is qualified with the enclosing namespace only if that type is defined,
+     * and otherwise names a type in the null namespace. Types the schema does not define itself (e.g.
+     * ones its references provide) are left as written, which resolves the same way in the output.
+     */
+    private static String reference(String name, String namespace, Set<String> defined) {
+        if (PRIMITIVES.contains(name)) {
+            return name;
+        }
+        String qualified = qualify(name, namespace);
+        return defined.contains(qualified) ? qualified : name;
+    }
+
+    private static String qualify(String name, String namespace) {
+        return name.indexOf('.') >= 0 || namespace.isEmpty() ? name : namespace + "." + name;
+    }
+
+    private static String namespaceOf(String fullName) {
+        int dot = fullName.lastIndexOf('.');
+        return dot < 0 ? "" : fullName.substring(0, dot);
     }
 }
@@ -0,0 +1,259 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.api.exception.InvalidReferenceException;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ParsedSchemaCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ResolvedReferenceCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SubjectVersionIndex;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository.ClosureEdge;
+import org.apache.avro.Schema;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parses schemas that reference named types defined under other subjects.
+ * <p>
+ * The referenced subject-versions and everything they reference in turn are loaded in one recursive
+ * query, then parsed bottom-up: each dependency is parsed with the named types of its own dependencies
+ * added to the parser. The named types each subject-version makes visible are cached per
+ * (subject, version) in {@link ResolvedReferenceCache}, so a shared "common types" subject is parsed
+ * once per node however many schemas use it. Parsed schemas go into {@link ParsedSchemaCache} under the
+ * key described in {@link Parsed}.
+ */
+@Service
+public class ReferenceResolver {
+
+    private final SchemaReferenceRepository schemaReferenceRepository;
+    private final ResolvedReferenceCache resolvedReferenceCache;
+    private final ParsedSchemaCache parsedSchemaCache;
+    private final SubjectVersionIndex subjectVersionIndex;
+    private final SchemaService schemaService;
+
+    public ReferenceResolver(SchemaReferenceRepository schemaReferenceRepository,
+                             ResolvedReferenceCache resolvedReferenceCache,
+                             ParsedSchemaCache parsedSchemaCache,
+                             SubjectVersionIndex subjectVersionIndex,
+                             SchemaService schemaService) {
+        this.schemaReferenceRepository = schemaReferenceRepository;
+        this.resolvedReferenceCache = resolvedReferenceCache;
+        this.parsedSchemaCache = parsedSchemaCache;
+        this.subjectVersionIndex = subjectVersionIndex;
+        this.schemaService = schemaService;
+    }
+
+    /**
+     * A parsed schema and the key it, and compatibility verdicts involving it, are cached under.
+     * <p>
+     * Without references the key is the hash of the text. With references it is a hash of the text hash
+     * and the schema ID each reference resolves to, so the same text parsed against other reference
+     * versions gets another key. It is null when a reference, directly or further down, resolved through
+     * "latest": the parse may change once a newer version is registered, so it is not cached.
+     */
+    public record Parsed(Schema schema, Md5Hash cacheKey) {
+    }
+
+    /**
+     * Parse a schema together with the named types its references make visible.
+     * Parse failures propagate as Avro exceptions; unresolvable references as {@link InvalidReferenceException}.
+     */
+    public Parsed parse(Md5Hash hash, String schemaText, List<SchemaReference> references) {
+        if (references == null || references.isEmpty()) {
+            return new Parsed(parsedSchemaCache.get(hash, schemaText), hash);
+        }
+
+        Md5Hash key = cacheKey(hash, references);
+        if (key != null) {
+            Schema cached = parsedSchemaCache.getIfPresent(key);
+            if (cached != null) {
+                return new Parsed(cached, key);
+            }
+        }
+
+        Resolution resolution = resolve(references);
+        Schema schema = parser(resolution.types()).parse(schemaText);
+        if (key == null || resolution.viaLatest()) {
+            return new Parsed(schema, null);
+        }
+        parsedSchemaCache.put(key, schema);
+        return new Parsed(schema, key);
+    }
+
+    /**
+     * Parse a stored schema. Entities loaded without their references (e.g. a subject's version list)
+     * that are not already cached as standalone schemas get them from {@link SchemaService#getById}.
+     */
+    public Parsed parse(SchemaEntity schema) {
+        List<SchemaReference> references = schema.getReferences();
+        if ((references == null || references.isEmpty()) && schema.getId() != null) {
+            Schema standalone = parsedSchemaCache.getIfPresent(schema.getMd5Hash());
+            if (standalone != null) {
+                return new Parsed(standalone, schema.getMd5Hash());
+            }
+            references = schemaService.getById(schema.getId()).getReferences();
+        }
+        return parse(schema.getMd5Hash(), schema.getSchemaText(), references);
+    }
+
+    /**
+     * Every named type defined by the referenced subject-versions or reachable through their references,
+     * keyed by full name.
+     */
+    public Map<String, Schema> resolveTypes(List<SchemaReference> references) {
+        return resolve(references).types();
+    }
+
+    /**
+     * The parse cache key for a schema with references, or null if one of them is "latest" or its
+     * subject-version is not in {@link SubjectVersionIndex} yet. Referenced versions cannot be
+     * permanently deleted while referenced, so their schema IDs pin the whole closure unless a
+     * "latest" reference further down is found while resolving.
+     */
+    private Md5Hash cacheKey(Md5Hash hash, List<SchemaReference> references) {
+        StringBuilder key = new StringBuilder(hash.getValue());
+        for (SchemaReference reference : references) {
+            if (reference.getVersion().isLatest()) {
+                return null;
+            }
+            Optional<SubjectVersion> resolved = subjectVersionIndex.find(
+                    reference.getSubject(), reference.getVersion(), true);
+            if (resolved.isEmpty()) {
+                return null;
+            }
+            key.append('\n').append(reference.getName()).append('=').append(resolved.get().getSchemaId().getValue());
+        }
+        return Md5Hash.compute(key.toString());
+    }
+
+    private Resolution resolve(List<SchemaReference> references) {
+        Map<String, Schema> types = new LinkedHashMap<>();
+        List<SchemaReference> unresolved = new ArrayList<>();
+        for (SchemaReference reference : references) {
+            Map<String, Schema> cached = reference.getVersion().isLatest() ? null : resolvedReferenceCache.getIfPresent(
+                    new ResolvedReferenceCache.Key(reference.getSubject().getValue(), reference.getVersion().getValue()));
+            if (cached != null) {
+                cached.forEach(types::putIfAbsent);
+            } else {
+                unresolved.add(reference);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return new Resolution(types, false);
+        }
+
+        Closure closure = new Closure(schemaReferenceRepository.findClosure(unresolved));
+        List<String> errors = new ArrayList<>();
+        boolean viaLatest = false;
+        for (SchemaReference reference : unresolved) {
+            Requested requested = new Requested(reference.getSubject().getValue(), reference.getVersion().getValue());
+            if (!closure.resolved.containsKey(requested)) {
+                errors.add("Subject " + requested.subject() + " version " + reference.getVersion() + " not found");
+                continue;
+            }
+            Resolved resolved = closure.resolve(requested, new HashSet<>());
+            resolved.types().forEach(types::putIfAbsent);
+            viaLatest |= resolved.viaLatest();
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidReferenceException(errors);
+        }
+        return new Resolution(types, viaLatest);
+    }
+
+    private static Schema.Parser parser(Map<String, Schema> types) {
+        Schema.Parser parser = new Schema.Parser();
+        parser.addTypes(types);
+        return parser;
+    }
+
+    private record Requested(String subject, int version) {
+    }
+
+    private record Node(int version, SchemaId schemaId, String schemaText) {
+    }
+
+    private record Resolved(Map<String, Schema> types, boolean viaLatest) {
+    }
+
+    private record Resolution(Map<String, Schema> types, boolean viaLatest) {
+    }
+
+    /**
+     * One loaded reference closure, resolved bottom-up with memoization so that shared dependencies
+     * are parsed once.
+     */
+    private final class Closure {
+        final Map<Requested, Node> resolved = new HashMap<>();
+        final Map<Integer, List<Requested>> referencesBySchema = new HashMap<>();
+        final Map<ResolvedReferenceCache.Key, Resolved> done = new HashMap<>();
+
+        Closure(List<ClosureEdge> edges) {
+            for (ClosureEdge edge : edges) {
+                Requested requested = new Requested(edge.subject().getValue(), edge.requestedVersion());
+                resolved.putIfAbsent(requested, new Node(edge.version(), edge.schemaId(), edge.schemaText()));
+                if (edge.parentSchemaId() != null) {
+                    List<Requested> siblings = referencesBySchema.computeIfAbsent(
+                            edge.parentSchemaId().getValue(), id -> new ArrayList<>());
+                    if (!siblings.contains(requested)) {
+                        siblings.add(requested);
+                    }
+                }
+            }
+        }
+
+        Resolved resolve(Requested requested, Set<ResolvedReferenceCache.Key> visiting) {
+            Node node = resolved.get(requested);
+            if (node == null) {
+                throw new InvalidReferenceException(List.of(
+                        "Subject " + requested.subject() + " version " + requested.version() + " not found"));
+            }
+            boolean latest = requested.version() == -1;
+            ResolvedReferenceCache.Key key = new ResolvedReferenceCache.Key(requested.subject(), node.version());
+
+            Resolved known = done.get(key);
+            if (known != null) {
+                return latest ? new Resolved(known.types(), true) : known;
+            }
+            Map<String, Schema> cached = resolvedReferenceCache.getIfPresent(key);
+            if (cached != null) {
+                return new Resolved(cached, latest);
+            }
+            if (!visiting.add(key)) {
+                throw new InvalidReferenceException(List.of(
+                        "Reference cycle through subject " + key.subject() + " version " + key.version()));
+            }
+
+            Map<String, Schema> dependencyTypes = new LinkedHashMap<>();
+            boolean viaLatest = false;
+            for (Requested dependency : referencesBySchema.getOrDefault(node.schemaId().getValue(), List.of())) {
+                Resolved resolvedDependency = resolve(dependency, visiting);
+                resolvedDependency.types().forEach(dependencyTypes::putIfAbsent);
+                viaLatest |= resolvedDependency.viaLatest();
+            }
+            visiting.remove(key);
+
+            Schema.Parser parser = parser(dependencyTypes);
+            parser.parse(node.schemaText());
+            Map<String, Schema> types = parser.getTypes();
+
+            if (!viaLatest) {
+                resolvedReferenceCache.put(key, types);
+            }
+            Resolved result = new Resolved(types, viaLatest);
+            done.put(key, result);
+            return latest ? new Resolved(types, true) : result;
+        }
+    }
+}
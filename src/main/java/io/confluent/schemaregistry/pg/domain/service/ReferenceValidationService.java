@@ -1,21 +1,146 @@
 package io.confluent.schemaregistry.pg.domain.service;
 
 import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ResolvedReferenceCache;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository.GraphEdge;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for validating schema references.
+ * <p>
+ * All references of a schema are checked together: every referenced subject-version, with "latest"
+ * resolved, and the graph reachable from them are loaded in one query, and cycles are looked for in
+ * memory. References whose closure is already in {@link ResolvedReferenceCache} resolved before and are
+ * not queried again. Each error names the reference it belongs to.
  */
 @Service
 public class ReferenceValidationService {
 
-    public List<String> validateReferences(List<SchemaReference> references) {
-        // TODO: Implement reference validation
-        // Check that referenced subject-versions exist
+    private final SchemaReferenceRepository schemaReferenceRepository;
+    private final ResolvedReferenceCache resolvedReferenceCache;
+
+    public ReferenceValidationService(SchemaReferenceRepository schemaReferenceRepository,
+                                      ResolvedReferenceCache resolvedReferenceCache) {
+        this.schemaReferenceRepository = schemaReferenceRepository;
+        this.resolvedReferenceCache = resolvedReferenceCache;
+    }
+
+    /**
+     * Validate the references of a schema about to be registered under {@code subject}.
+     *
+     * @return one message per invalid reference, empty if all are valid
+     */
+    public List<String> validateReferences(SubjectName subject, List<SchemaReference> references) {
         List<String> errors = new ArrayList<>();
+        if (references == null || references.isEmpty()) {
+            return errors;
+        }
+
+        Set<String> names = new HashSet<>();
+        List<SchemaReference> unchecked = new ArrayList<>();
+        for (int i = 0; i < references.size(); i++) {
+            SchemaReference reference = references.get(i);
+            if (reference.getName() == null || reference.getName().isBlank()) {
+                errors.add("Reference " + (i + 1) + " has no name");
+                continue;
+            }
+            if (!names.add(reference.getName())) {
+                errors.add("Reference " + reference.getName() + " is declared more than once");
+                continue;
+            }
+            if (reference.getSubject().equals(subject) && reference.getVersion().isLatest()) {
+                errors.add("Reference " + reference.getName() + " refers to the latest version of subject "
+                        + subject + ", which this schema would become");
+                continue;
+            }
+            boolean known = !reference.getVersion().isLatest() && resolvedReferenceCache.getIfPresent(
+                    new ResolvedReferenceCache.Key(reference.getSubject().getValue(),
+                            reference.getVersion().getValue())) != null;
+            if (!known) {
+                unchecked.add(reference);
+            }
+        }
+        if (unchecked.isEmpty()) {
+            return errors;
+        }
+
+        Graph graph = new Graph(subject, schemaReferenceRepository.findGraph(unchecked));
+        for (GraphEdge root : graph.roots) {
+            SchemaReference reference = unchecked.get(root.position());
+            if (root.schemaId() == null) {
+                errors.add("Reference " + reference.getName() + ": subject " + reference.getSubject()
+                        + " version " + reference.getVersion() + " not found");
+                continue;
+            }
+            Set<Integer> path = new HashSet<>();
+            path.add(root.schemaId().getValue());
+            graph.problem(root.schemaId().getValue(), path)
+                    .ifPresent(problem -> errors.add("Reference " + reference.getName() + ": " + problem));
+        }
         return errors;
     }
+
+    /**
+     * A loaded reference graph over schema IDs, searched depth-first for cycles. The outcome for each
+     * schema is memoized, so shared dependencies are walked once.
+     */
+    private static final class Graph {
+        final SubjectName subject;
+        final List<GraphEdge> roots = new ArrayList<>();
+        final Map<Integer, List<GraphEdge>> edgesBySchema = new HashMap<>();
+        final Map<Integer, Optional<String>> done = new HashMap<>();
+
+        Graph(SubjectName subject, List<GraphEdge> rows) {
+            this.subject = subject;
+            for (GraphEdge row : rows) {
+                if (row.position() != null) {
+                    roots.add(row);
+                } else {
+                    edgesBySchema.computeIfAbsent(row.parentSchemaId().getValue(), id -> new ArrayList<>()).add(row);
+                }
+            }
+        }
+
+        /**
+         * The first problem reachable from a schema on the current path: a cycle, or a "latest" reference
+         * to the subject being registered, which would close a cycle once the new version is stored.
+         */
+        Optional<String> problem(int schemaId, Set<Integer> path) {
+            Optional<String> known = done.get(schemaId);
+            if (known != null) {
+                return known;
+            }
+            Optional<String> result = Optional.empty();
+            for (GraphEdge edge : edgesBySchema.getOrDefault(schemaId, List.of())) {
+                if (edge.requestedVersion() == -1 && edge.subject().equals(subject)) {
+                    result = Optional.of("reaches the latest version of subject " + subject
+                            + ", which this schema would become");
+                    break;
+                }
+                int child = edge.schemaId().getValue();
+                if (!path.add(child)) {
+                    result = Optional.of("reference cycle through subject " + edge.subject()
+                            + " version " + edge.version());
+                    break;
+                }
+                result = problem(child, path);
+                path.remove(child);
+                if (result.isPresent()) {
+                    break;
+                }
+            }
+            done.put(schemaId, result);
+            return result;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical concurrent registrations.
+ * <p>
+ * The first caller for a given (subject, raw schema, normalize flag, references, explicit ID) runs the
+ * registration; callers arriving while it is in flight wait for and share its result or its exception.
+ * This is safe because registering an identical schema again is idempotent. The registration runs in its
+ * own transaction, so it has committed by the time waiters see the result.
+ */
+@Service
+public class RegistrationCoalescer {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<SubjectVersion>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public RegistrationCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("schema.registry.registration.coalesced")
+                .description("Registrations answered by an identical registration already in flight")
+                .register(meterRegistry);
+    }
+
+    public SubjectVersion register(SubjectName subject, SchemaEntity request, boolean normalize,
+                                   Supplier<SubjectVersion> registration) {
+        if (request.getSchemaText() == null) {
+            return registration.get(); // Nothing to coalesce on; let validation reject it
+        }
+
+        Key key = new Key(
+                subject.getValue(),
+                Md5Hash.compute(request.getSchemaText()),
+                normalize,
+                request.getSchemaType(),
+                request.getReferences() != null ? request.getReferences() : List.of(),
+                request.getId()
+        );
+
+        CompletableFuture<SubjectVersion> mine = new CompletableFuture<>();
+        CompletableFuture<SubjectVersion> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        try {
+            SubjectVersion result = registration.get();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Errors too, or waiters would block forever on a future nobody completes
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static SubjectVersion await(CompletableFuture<SubjectVersion> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String subject, Md5Hash rawHash, boolean normalize, SchemaType schemaType,
+                       List<SchemaReference> references, SchemaId explicitId) {
+    }
+}
@@ -0,0 +1,78 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.api.exception.InvalidReferenceException;
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.value.CanonicalFingerprint;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Builds the {@link RegistrationContext} for a registration request: normalizes, hashes and parses
+ * the schema text exactly once, and validates its references.
+ */
+@Service
+public class RegistrationContextFactory {
+
+    private final NormalizationService normalizationService;
+    private final SchemaValidationService schemaValidationService;
+    private final ReferenceValidationService referenceValidationService;
+    private final ConfigCache configCache;
+
+    public RegistrationContextFactory(NormalizationService normalizationService,
+                                      SchemaValidationService schemaValidationService,
+                                      ReferenceValidationService referenceValidationService,
+                                      ConfigCache configCache) {
+        this.normalizationService = normalizationService;
+        this.schemaValidationService = schemaValidationService;
+        this.referenceValidationService = referenceValidationService;
+        this.configCache = configCache;
+    }
+
+    public RegistrationContext create(SubjectName subjectName, SchemaEntity request, boolean normalize) {
+        String schemaText = request.getSchemaText();
+        SchemaType type = request.getSchemaType() != null ? request.getSchemaType() : SchemaType.AVRO;
+
+        // Normalize when asked to, or when the subject's config says so
+        if (normalize || configCache.isNormalize(subjectName)) {
+            schemaText = normalizationService.normalize(schemaText, type);
+        }
+
+        List<SchemaReference> references = request.getReferences() != null ? request.getReferences() : List.of();
+        Md5Hash hash = Md5Hash.compute(schemaText);
+
+        List<String> referenceErrors = referenceValidationService.validateReferences(subjectName, references);
+        if (!referenceErrors.isEmpty()) {
+            throw new InvalidReferenceException(referenceErrors);
+        }
+
+        // Validate schema structure, with the named types of any references resolved
+        ReferenceResolver.Parsed parsed = schemaValidationService.validate(hash, schemaText, type, references);
+
+        SchemaEntity schema = SchemaEntity.builder()
+                .schemaText(schemaText)
+                .schemaType(type)
+                .md5Hash(hash)
+                .canonicalFingerprint(CanonicalFingerprint.of(parsed.schema()))
+                .references(references)
+                .metadata(request.getMetadata())
+                .ruleSet(request.getRuleSet())
+                .createdAt(Instant.now())
+                .build();
+
+        return RegistrationContext.builder()
+                .subject(subjectName)
+                .schema(schema)
+                .parsedSchema(parsed.schema())
+                .cacheKey(parsed.cacheKey())
+                .explicitId(request.getId() != null ? request.getId().getValue() : null)
+                .build();
+    }
+}
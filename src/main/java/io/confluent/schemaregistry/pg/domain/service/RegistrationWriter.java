@@ -0,0 +1,131 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.infrastructure.locking.SubjectLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Persists several prepared registrations in one transaction, so they share a single commit.
+ * <p>
+ * Each registration runs {@link SubjectService#registerVersion} inside its own savepoint, so a failure
+ * rolls back only that registration. Registrations are written in {@link SubjectLocks} stripe order,
+ * then subject order, so concurrent writers always take stripes in the same order and cannot deadlock.
+ * A prechecked registration carries the latest version its precheck saw; after each registration of a
+ * subject that version moves on to the one just created, so the next precheck still matches. Once a
+ * registration fails, later ones for the same subject get a full compatibility check, because their
+ * prechecks assumed the failed one would exist.
+ * <p>
+ * If the shared commit itself fails, every registration in it is lost, so each subject's registrations
+ * are retried in a transaction of their own; one subject failing then no longer affects the others.
+ */
+@Service
+public class RegistrationWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationWriter.class);
+
+    private final SubjectService subjectService;
+    private final SubjectLocks subjectLocks;
+    private final TransactionTemplate outerTransaction;
+    private final TransactionTemplate savepointTransaction;
+
+    public RegistrationWriter(SubjectService subjectService, SubjectLocks subjectLocks,
+                              PlatformTransactionManager transactionManager) {
+        this.subjectService = subjectService;
+        this.subjectLocks = subjectLocks;
+        this.outerTransaction = new TransactionTemplate(transactionManager);
+        this.savepointTransaction = new TransactionTemplate(transactionManager);
+        this.savepointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * A prepared registration, with the latest version number its compatibility precheck ran against
+     * (see {@link SubjectService#latestVersionNumber}), or null if it was not prechecked.
+     */
+    public record Write(RegistrationContext context, Integer checkedLatest) {
+    }
+
+    /**
+     * Either the registered version or the error that rolled the registration back.
+     */
+    public record Outcome(SubjectVersion saved, RuntimeException error) {
+    }
+
+    /**
+     * Write every registration and return outcomes in input order. Outcomes describe committed state
+     * only once this method returns.
+     */
+    public List<Outcome> writeAll(List<Write> writes) {
+        int[] order = IntStream.range(0, writes.size())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> subjectLocks.stripeOf(writes.get(i).context().getSubject()))
+                        .thenComparing(i -> writes.get(i).context().getSubject().getValue()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Outcome[] outcomes = new Outcome[writes.size()];
+        try {
+            outerTransaction.executeWithoutResult(status -> write(writes, order, outcomes));
+            return Arrays.asList(outcomes);
+        } catch (RuntimeException e) {
+            log.warn("Shared transaction of {} registrations failed; retrying one subject at a time", writes.size(), e);
+        }
+
+        // Retry each subject's registrations (contiguous in write order) in their own transaction
+        Arrays.fill(outcomes, null);
+        for (int from = 0; from < order.length; ) {
+            String subject = writes.get(order[from]).context().getSubject().getValue();
+            int to = from;
+            while (to < order.length && writes.get(order[to]).context().getSubject().getValue().equals(subject)) {
+                to++;
+            }
+            int[] group = Arrays.copyOfRange(order, from, to);
+            try {
+                outerTransaction.executeWithoutResult(status -> write(writes, group, outcomes));
+            } catch (RuntimeException e) {
+                for (int i : group) {
+                    outcomes[i] = new Outcome(null, e);
+                }
+            }
+            from = to;
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private void write(List<Write> writes, int[] order, Outcome[] outcomes) {
+        Set<String> failedSubjects = new HashSet<>();
+        Map<String, Integer> latest = new HashMap<>();
+        for (int i : order) {
+            Write write = writes.get(i);
+            String subject = write.context().getSubject().getValue();
+            Integer checkedLatest = write.checkedLatest() == null || failedSubjects.contains(subject)
+                    ? null
+                    : latest.getOrDefault(subject, write.checkedLatest());
+            try {
+                SubjectVersion saved = savepointTransaction.execute(
+                        s -> subjectService.registerVersion(write.context(), checkedLatest));
+                outcomes[i] = new Outcome(saved, null);
+                if (checkedLatest != null && saved.getVersion().getValue() > checkedLatest) {
+                    latest.put(subject, saved.getVersion().getValue());
+                }
+            } catch (RuntimeException e) {
+                outcomes[i] = new Outcome(null, e);
+                failedSubjects.add(subject);
+            }
+        }
+    }
+}
@@ -6,7 +6,7 @@ import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
 import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
-import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SchemaCache;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaRepository;
 import org.springframework.stereotype.Service;
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,14 +25,25 @@ public class SchemaService {
 
     private final SchemaRepository schemaRepository;
     private final SchemaReferenceRepository schemaReferenceRepository;
+    private final SchemaCache schemaCache;
 
     public SchemaService(SchemaRepository schemaRepository,
-                         SchemaReferenceRepository schemaReferenceRepository) {
+                         SchemaReferenceRepository schemaReferenceRepository,
+                         SchemaCache schemaCache) {
         this.schemaRepository = schemaRepository;
         this.schemaReferenceRepository = schemaReferenceRepository;
+        this.schemaCache = schemaCache;
     }
 
+    /**
+     * Get a schema with its references. Schemas are immutable once assigned an ID,
+     * so the assembled entity is served from {@link SchemaCache} once warm.
+     */
     public SchemaEntity getById(SchemaId schemaId) {
+        return schemaCache.get(schemaId, this::loadById);
+    }
+
+    private SchemaEntity loadById(SchemaId schemaId) {
         Optional<SchemaEntity> schema = schemaRepository.findById(schemaId);
         if (schema.isEmpty()) {
             throw new SchemaNotFoundException(schemaId.getValue());
@@ -45,9 +57,13 @@ public class SchemaService {
         return schemaEntity.withReferences(references);
     }
 
+    /**
+     * Register a schema, or return the existing one with identical text.
+     * Uses the schema's MD5 hash when already computed by the caller.
+     */
     @Transactional
     public SchemaEntity registerOrGetExisting(SchemaEntity schema, Integer explicitId) {
-        Md5Hash hash = Md5Hash.compute(schema.getSchemaText());
+        Md5Hash hash = schema.getMd5Hash() != null ? schema.getMd5Hash() : Md5Hash.compute(schema.getSchemaText());
 
         // Check if schema already exists
         Optional<SchemaEntity> existing = schemaRepository.findByHash(hash);
@@ -70,13 +86,52 @@ public class SchemaService {
         return saved;
     }
 
-    public List<Integer> getSchemaIdsReferencingSubjectVersion(SubjectName subjectName, Version version) {
-        return schemaReferenceRepository.findSchemaIdsReferencingSubjectVersion(subjectName, version);
+    /**
+     * Schemas of the non-deleted versions of a subject (newest first), or only the latest one.
+     */
+    public List<SchemaEntity> getSchemasBySubject(SubjectName subjectName, boolean latestOnly) {
+        return getSchemasBySubject(subjectName, Integer.MAX_VALUE, latestOnly);
+    }
+
+    /**
+     * Schemas of the non-deleted versions of a subject up to maxVersion (newest first), or only the newest one.
+     */
+    public List<SchemaEntity> getSchemasBySubject(SubjectName subjectName, int maxVersion, boolean latestOnly) {
+        return schemaRepository.findBySubject(subjectName, maxVersion, latestOnly);
+    }
+
+    /**
+     * Page through schema IDs in ID order, starting after afterId.
+     *
+     * @param subjectPrefix only schemas registered under a subject with this prefix; null for all
+     * @param deleted       also include schemas whose versions are all soft-deleted
+     */
+    public List<SchemaId> listSchemaIds(String subjectPrefix, boolean deleted, int afterId, int limit, int offset) {
+        validatePage(limit, offset);
+        return schemaRepository.findIdsPage(subjectPrefix, deleted, afterId, limit, offset);
+    }
+
+    /**
+     * Like {@link #listSchemaIds}, but returns full schemas, with references loaded in one batch query.
+     */
+    public List<SchemaEntity> listSchemas(String subjectPrefix, boolean deleted, int afterId, int limit, int offset) {
+        validatePage(limit, offset);
+        List<SchemaEntity> schemas = schemaRepository.findPage(subjectPrefix, deleted, afterId, limit, offset);
+
+        Map<SchemaId, List<SchemaReference>> references = schemaReferenceRepository.findBySchemaIds(
+                schemas.stream().map(SchemaEntity::getId).toList());
+        return schemas.stream()
+                .map(schema -> schema.withReferences(references.getOrDefault(schema.getId(), List.of())))
+                .toList();
     }
 
-    public List<SchemaId> listAllSchemaIds(SubjectName subjectFilter, boolean deleted, int limit, int offset) {
-        // TODO: Implement filtering by subject and deleted status
-        return schemaRepository.findAllIds(limit, offset);
+    private static void validatePage(int limit, int offset) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive, got: " + limit);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative, got: " + offset);
+        }
     }
 
     public Optional<SchemaEntity> findByHash(Md5Hash hash) {
@@ -1,23 +1,66 @@
 package io.confluent.schemaregistry.pg.domain.service;
 
+import io.confluent.schemaregistry.pg.api.exception.InvalidReferenceException;
 import io.confluent.schemaregistry.pg.api.exception.InvalidSchemaException;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ParsedSchemaCache;
 import org.apache.avro.Schema;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service for validating schema syntax.
  */
 @Service
 public class SchemaValidationService {
 
+    private final ParsedSchemaCache parsedSchemaCache;
+    private final ReferenceResolver referenceResolver;
+
+    public SchemaValidationService(ParsedSchemaCache parsedSchemaCache, ReferenceResolver referenceResolver) {
+        this.parsedSchemaCache = parsedSchemaCache;
+        this.referenceResolver = referenceResolver;
+    }
+
     public void validate(String schemaText, SchemaType type) {
+        validate(Md5Hash.compute(schemaText), schemaText, type);
+    }
+
+    /**
+     * Validate a schema whose hash is already known and return its parsed form.
+     */
+    public Schema validate(Md5Hash hash, String schemaText, SchemaType type) {
+        if (type != SchemaType.AVRO) {
+            throw new IllegalArgumentException("Only AVRO schema type is supported");
+        }
+
+        try {
+            return parsedSchemaCache.get(hash, schemaText);
+        } catch (Exception e) {
+            throw new InvalidSchemaException(e.getMessage());
+        }
+    }
+
+    /**
+     * Validate a schema against the named types its references make visible and return its parsed form
+     * with the key it is cached under. Unresolvable references are reported as {@link InvalidReferenceException}.
+     */
+    public ReferenceResolver.Parsed validate(Md5Hash hash, String schemaText, SchemaType type,
+                                             List<SchemaReference> references) {
+        if (references == null || references.isEmpty()) {
+            return new ReferenceResolver.Parsed(validate(hash, schemaText, type), hash);
+        }
         if (type != SchemaType.AVRO) {
             throw new IllegalArgumentException("Only AVRO schema type is supported");
         }
 
         try {
-            new Schema.Parser().parse(schemaText);
+            return referenceResolver.parse(hash, schemaText, references);
+        } catch (InvalidReferenceException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidSchemaException(e.getMessage());
         }
@@ -1,24 +1,47 @@
 package io.confluent.schemaregistry.pg.domain.service;
 
 import io.confluent.schemaregistry.pg.api.exception.IncompatibleSchemaException;
+import io.confluent.schemaregistry.pg.api.exception.ReferenceExistsException;
 import io.confluent.schemaregistry.pg.api.exception.SubjectNotFoundException;
 import io.confluent.schemaregistry.pg.api.exception.VersionNotFoundException;
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
 import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SubjectPage;
 import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.CanonicalFingerprint;
 import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
 import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.Mode;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ConfigCache;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ReferenceIndex;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SubjectCatalog;
+import io.confluent.schemaregistry.pg.infrastructure.cache.SubjectVersionIndex;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventBus;
+import io.confluent.schemaregistry.pg.infrastructure.locking.SubjectLocks;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.RoundTrips;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
 import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectVersionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -28,47 +51,139 @@ import java.util.Optional;
 public class SubjectService {
 
     private final SubjectVersionRepository subjectVersionRepository;
+    private final SchemaReferenceRepository schemaReferenceRepository;
     private final SchemaService schemaService;
     private final ConfigRepository configRepository;
+    private final ConfigCache configCache;
+    private final SubjectVersionIndex subjectVersionIndex;
+    private final SubjectCatalog subjectCatalog;
+    private final ReferenceIndex referenceIndex;
     private final CompatibilityCheckService compatibilityCheckService;
+    private final ChangeEventBus changeEventBus;
+    private final SubjectLocks subjectLocks;
+    private final NormalizationService normalizationService;
+    private final SchemaValidationService schemaValidationService;
+    private final Persistence persistence;
+    private final DistributionSummary registrationRoundTrips;
+
+    /**
+     * How a registration is written: statement by statement, or in one call to the
+     * {@code register_schema_version} database function.
+     */
+    private enum Persistence { JDBC, FUNCTION }
 
     public SubjectService(SubjectVersionRepository subjectVersionRepository,
+                          SchemaReferenceRepository schemaReferenceRepository,
                           SchemaService schemaService,
                           ConfigRepository configRepository,
-                          CompatibilityCheckService compatibilityCheckService) {
+                          ConfigCache configCache,
+                          SubjectVersionIndex subjectVersionIndex,
+                          SubjectCatalog subjectCatalog,
+                          ReferenceIndex referenceIndex,
+                          CompatibilityCheckService compatibilityCheckService,
+                          ChangeEventBus changeEventBus,
+                          SubjectLocks subjectLocks,
+                          NormalizationService normalizationService,
+                          SchemaValidationService schemaValidationService,
+                          MeterRegistry meterRegistry,
+                          @Value("${schema-registry.registration.persistence:jdbc}") String persistence,
+                          @Value("${schema-registry.metrics.round-trips.enabled:false}") boolean roundTripMetrics) {
         this.subjectVersionRepository = subjectVersionRepository;
+        this.schemaReferenceRepository = schemaReferenceRepository;
         this.schemaService = schemaService;
         this.configRepository = configRepository;
+        this.configCache = configCache;
+        this.subjectVersionIndex = subjectVersionIndex;
+        this.subjectCatalog = subjectCatalog;
+        this.referenceIndex = referenceIndex;
         this.compatibilityCheckService = compatibilityCheckService;
+        this.changeEventBus = changeEventBus;
+        this.subjectLocks = subjectLocks;
+        this.normalizationService = normalizationService;
+        this.schemaValidationService = schemaValidationService;
+        this.persistence = Persistence.valueOf(persistence.toUpperCase(Locale.ROOT));
+        this.registrationRoundTrips = roundTripMetrics
+                ? DistributionSummary.builder("schema.registry.registration.round.trips")
+                        .description("Database round trips per single-registration transaction, including the commit")
+                        .tag("persistence", this.persistence.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                : null;
     }
 
-    public List<String> listSubjects(String subjectPrefix, boolean deleted, boolean deletedOnly) {
-        if (deletedOnly) {
-            return subjectVersionRepository.findDeletedSubjects();
+    /**
+     * List subjects from the in-memory catalog, one page at a time.
+     *
+     * @param limit  maximum page size; null for no limit
+     * @param cursor opaque cursor from the previous page; null for the first page
+     */
+    public SubjectPage listSubjects(String subjectPrefix, boolean deleted, boolean deletedOnly,
+                                    Integer limit, String cursor) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive, got: " + limit);
         }
+        String prefix = subjectPrefix != null && !subjectPrefix.isBlank() ? subjectPrefix : null;
+        String after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        SubjectPage page = subjectCatalog.list(prefix, after,
+                limit != null ? limit : Integer.MAX_VALUE, deleted, deletedOnly);
+        return page.getNextCursor() == null
+                ? page
+                : new SubjectPage(page.getSubjects(), encodeCursor(page.getNextCursor()));
+    }
 
-        if (subjectPrefix != null && !subjectPrefix.isBlank()) {
-            return subjectVersionRepository.findSubjectsWithPrefix(subjectPrefix, deleted);
+    /**
+     * Find the newest version of a subject holding the given schema. Exact matches come from the in-memory
+     * index. With normalize (or the subject's normalize config), versions whose schema has the same
+     * canonical fingerprint are candidates and the one that normalizes to the same text wins.
+     */
+    public SubjectVersion lookupSchema(SubjectName subjectName, SchemaEntity request, boolean normalize,
+                                       boolean deleted) {
+        String schemaText = request.getSchemaText();
+        Optional<SubjectVersion> exact = subjectVersionIndex.findByHash(subjectName, Md5Hash.compute(schemaText), deleted);
+        if (exact.isPresent() || !(normalize || configCache.isNormalize(subjectName))) {
+            return exact.orElseThrow(() -> new SubjectNotFoundException(subjectName.getValue()));
         }
 
-        return subjectVersionRepository.findAllSubjects(deleted);
-    }
+        SchemaType type = request.getSchemaType() != null ? request.getSchemaType() : SchemaType.AVRO;
+        String normalized = normalizationService.normalize(schemaText, type);
+        Md5Hash normalizedHash = Md5Hash.compute(normalized);
+        exact = subjectVersionIndex.findByHash(subjectName, normalizedHash, deleted);
+        if (exact.isPresent()) {
+            return exact.get();
+        }
 
-    public SubjectVersion lookupSchema(SubjectName subjectName, Md5Hash schemaHash) {
-        Optional<SubjectVersion> sv = subjectVersionRepository.findBySubjectAndHash(subjectName, schemaHash);
-        if (sv.isEmpty()) {
+        // Schemas with references cannot be parsed on their own, so they have no fingerprint
+        if (request.getReferences() != null && !request.getReferences().isEmpty()) {
             throw new SubjectNotFoundException(subjectName.getValue());
         }
-        return sv.get();
+        long fingerprint = CanonicalFingerprint.of(schemaValidationService.validate(normalizedHash, normalized, type));
+        for (SubjectVersion candidate : subjectVersionRepository.findBySubjectAndCanonicalFingerprint(
+                subjectName, fingerprint, deleted)) {
+            SchemaEntity stored = schemaService.getById(candidate.getSchemaId());
+            if (normalized.equals(normalizationService.normalize(stored.getSchemaText(), stored.getSchemaType()))) {
+                return candidate;
+            }
+        }
+        throw new SubjectNotFoundException(subjectName.getValue());
     }
 
     @Transactional
-    public List<Integer> deleteSubject(SubjectName subjectName, boolean permanent) {
-        if (!subjectVersionRepository.existsBySubject(subjectName)) {
+    public int[] deleteSubject(SubjectName subjectName, boolean permanent) {
+        if (!subjectVersionIndex.exists(subjectName)) {
             throw new SubjectNotFoundException(subjectName.getValue());
         }
 
-        List<Integer> versions = subjectVersionRepository.findVersionsBySubject(subjectName, true);
+        int[] referencing = referenceIndex.blockingDelete(subjectName, permanent);
+        if (referencing.length == 0) {
+            // The index misses references committed concurrently or on nodes not yet heard from
+            subjectVersionRepository.lockSubject(subjectName);
+            referencing = schemaReferenceRepository.findBlockingDelete(subjectName, permanent);
+        }
+        if (referencing.length > 0) {
+            throw new ReferenceExistsException("subject '" + subjectName.getValue() + "'", referencing);
+        }
+
+        int[] versions = subjectVersionIndex.versions(subjectName, true);
 
         if (permanent) {
             subjectVersionRepository.hardDeleteAllVersions(subjectName);
@@ -76,28 +191,63 @@ public class SubjectService {
         } else {
             subjectVersionRepository.softDeleteAllVersions(subjectName);
         }
+        changeEventBus.publish(ChangeEvent.subjectDeleted(subjectName, permanent));
 
         return versions;
     }
 
-    public List<Integer> listVersions(SubjectName subjectName, boolean deleted) {
-        List<Integer> versions = subjectVersionRepository.findVersionsBySubject(subjectName, deleted);
-        if (versions.isEmpty() && !deleted) {
+    public int[] listVersions(SubjectName subjectName, boolean deleted) {
+        int[] versions = subjectVersionIndex.versions(subjectName, deleted);
+        if (versions.length == 0 && !deleted) {
             throw new SubjectNotFoundException(subjectName.getValue());
         }
         return versions;
     }
 
+    /**
+     * Register the schema carried by a prepared {@link RegistrationContext} under its subject.
+     * The context's parsed schema and hash are reused, so nothing is parsed or hashed again here.
+     */
+    @Transactional
+    public SubjectVersion registerVersion(RegistrationContext context) {
+        return registerVersion(context, null);
+    }
+
+    /**
+     * Register a prepared schema. When the caller has already run {@link #precheck}, {@code checkedLatest}
+     * is the {@link #latestVersionNumber} read before it; the check is skipped only if the subject's newest
+     * live version is still that one once the subject is locked, and re-run otherwise.
+     *
+     * @param checkedLatest newest live version the precheck ran against, or null if there was none
+     */
     @Transactional
-    public SubjectVersion registerVersion(SubjectName subjectName, SchemaEntity schema, Integer explicitId) {
+    public SubjectVersion registerVersion(RegistrationContext context, Integer checkedLatest) {
+        SubjectName subjectName = context.getSubject();
+        recordRoundTrips();
+
         // Check mode
-        Mode mode = configRepository.getEffectiveMode(subjectName);
+        Mode mode = configCache.getEffectiveMode(subjectName);
         if (!mode.isWriteAllowed()) {
             throw new IllegalStateException("Write operations not allowed in " + mode + " mode");
         }
 
+        // Serialize writers of this subject in-process; single registrations already hold the lock
+        // from before their transaction began, so this only re-enters it
+        subjectLocks.lockUntilCompletion(subjectName);
+
+        if (persistence == Persistence.FUNCTION && context.getExplicitId() == null) {
+            Optional<SubjectVersion> registered = registerWithFunction(context, mode, checkedLatest);
+            if (registered.isPresent()) {
+                return registered.get();
+            }
+            // The subject changed since its history was checked; redo everything under the advisory lock
+        }
+
+        // ... and across nodes
+        subjectVersionRepository.lockSubject(subjectName);
+
         // Register or get existing schema
-        SchemaEntity savedSchema = schemaService.registerOrGetExisting(schema, explicitId);
+        SchemaEntity savedSchema = schemaService.registerOrGetExisting(context.getSchema(), context.getExplicitId());
 
         // Check if this schema is already registered under this subject
         Optional<SubjectVersion> existingSv = subjectVersionRepository.findBySubjectAndHash(
@@ -106,14 +256,17 @@ public class SubjectService {
             return existingSv.get();
         }
 
-        // Get compatibility level and check compatibility (unless in IMPORT mode)
-        if (!mode.isImportMode()) {
-            CompatibilityLevel compatibilityLevel = configRepository.getEffectiveCompatibility(subjectName);
-            checkCompatibility(subjectName, schema.getSchemaText(), compatibilityLevel);
+        // Get compatibility level and check compatibility (unless in IMPORT mode), unless a precheck ran
+        // against exactly the history visible now that the subject is locked
+        boolean compatibilityChecked = checkedLatest != null
+                && subjectVersionRepository.findLatestLiveVersionNumber(subjectName) == checkedLatest;
+        if (!mode.isImportMode() && !compatibilityChecked) {
+            CompatibilityLevel compatibilityLevel = configCache.getEffectiveCompatibility(subjectName);
+            checkCompatibility(context, compatibilityLevel, List.of());
         }
 
-        // Determine next version number
-        int nextVersion = subjectVersionRepository.getNextVersion(subjectName);
+        // Allocate the next version from the subject's counter
+        int nextVersion = subjectVersionRepository.allocateVersion(subjectName);
 
         // Create subject-version mapping
         SubjectVersion subjectVersion = SubjectVersion.builder()
@@ -124,28 +277,134 @@ public class SubjectService {
                 .createdAt(Instant.now())
                 .build();
 
-        return subjectVersionRepository.save(subjectVersion);
+        SubjectVersion saved = subjectVersionRepository.save(subjectVersion);
+        changeEventBus.publish(ChangeEvent.versionRegistered(saved, savedSchema.getMd5Hash()));
+        return saved;
     }
 
-    private void checkCompatibility(SubjectName subjectName, String newSchemaText, CompatibilityLevel compatibilityLevel) {
-        // Get existing schemas (newest first)
-        List<Integer> versions = subjectVersionRepository.findVersionsBySubject(subjectName, false);
-        if (versions.isEmpty()) {
-            return; // No existing versions, so compatible
+    /**
+     * Register through the {@code register_schema_version} function: the compatibility check runs here
+     * against the subject's latest live version, everything else in one database call.
+     *
+     * @return empty if the subject's latest version changed after it was checked, so nothing was registered
+     */
+    private Optional<SubjectVersion> registerWithFunction(RegistrationContext context, Mode mode,
+                                                          Integer checkedLatest) {
+        SubjectName subjectName = context.getSubject();
+
+        // A precheck holds only if the latest version is unchanged, which the function verifies under its lock
+        Integer expectedLatest = mode.isImportMode() ? null : checkedLatest;
+        if (!mode.isImportMode() && checkedLatest == null) {
+            CompatibilityLevel compatibilityLevel = configCache.getEffectiveCompatibility(subjectName);
+            if (compatibilityLevel != CompatibilityLevel.NONE) {
+                // Read from the index before reading the history, so that a version registered in between
+                // makes the function report STALE rather than skip the check against it
+                int[] live = subjectVersionIndex.versions(subjectName, false);
+                expectedLatest = live.length == 0 ? 0 : live[live.length - 1];
+                try {
+                    checkCompatibility(context, compatibilityLevel, List.of());
+                } catch (IncompatibleSchemaException e) {
+                    // Re-registering a schema the subject already has returns it, whatever its compatibility
+                    return Optional.of(subjectVersionRepository.findBySubjectAndHash(subjectName, context.getMd5Hash())
+                            .orElseThrow(() -> e));
+                }
+            }
         }
 
-        List<String> existingSchemas = new ArrayList<>();
-        for (int i = versions.size() - 1; i >= 0; i--) {
-            Version version = Version.of(versions.get(i));
-            Optional<SubjectVersion> sv = subjectVersionRepository.findBySubjectAndVersion(subjectName, version, false);
-            if (sv.isPresent()) {
-                SchemaEntity schema = schemaService.getById(sv.get().getSchemaId());
-                existingSchemas.add(schema.getSchemaText());
+        SubjectVersionRepository.FunctionRegistration registration =
+                subjectVersionRepository.registerWithFunction(subjectName, context.getSchema(), expectedLatest);
+        if (registration.outcome() == SubjectVersionRepository.FunctionOutcome.STALE) {
+            return Optional.empty();
+        }
+
+        SubjectVersion subjectVersion = SubjectVersion.builder()
+                .subject(subjectName)
+                .version(registration.version())
+                .schemaId(registration.schemaId())
+                .deleted(false)
+                .createdAt(Instant.now())
+                .build();
+        if (registration.outcome() == SubjectVersionRepository.FunctionOutcome.CREATED) {
+            changeEventBus.publish(ChangeEvent.versionRegistered(subjectVersion, context.getMd5Hash()));
+        }
+        return Optional.of(subjectVersion);
+    }
+
+    /**
+     * Record the round trips of the current transaction once it completes, if this registration owns it
+     * and round trips are counted. Registrations sharing a batch transaction are not recorded individually.
+     */
+    private void recordRoundTrips() {
+        if (registrationRoundTrips == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionAspectSupport.currentTransactionStatus().isNewTransaction()) {
+            return;
+        }
+        long start = RoundTrips.current();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                registrationRoundTrips.record(RoundTrips.current() - start);
             }
+        });
+    }
+
+    /**
+     * The subject's newest live version number from the database, or 0 if it has none. Read it before
+     * {@link #precheck} and pass it to {@link #registerVersion(RegistrationContext, Integer)}.
+     */
+    public int latestVersionNumber(SubjectName subjectName) {
+        return subjectVersionRepository.findLatestLiveVersionNumber(subjectName);
+    }
+
+    /**
+     * Run the checks of {@link #registerVersion} without writing anything.
+     *
+     * @param pending schemas queued for the same subject ahead of this one but not yet persisted, newest first
+     * @return false if the schema is already registered under the subject, so it would not become a new version
+     */
+    public boolean precheck(RegistrationContext context, List<SchemaEntity> pending) {
+        SubjectName subjectName = context.getSubject();
+
+        Mode mode = configCache.getEffectiveMode(subjectName);
+        if (!mode.isWriteAllowed()) {
+            throw new IllegalStateException("Write operations not allowed in " + mode + " mode");
         }
+        if (subjectVersionRepository.findBySubjectAndHash(subjectName, context.getMd5Hash()).isPresent()) {
+            return false;
+        }
+        if (!mode.isImportMode()) {
+            checkCompatibility(context, configCache.getEffectiveCompatibility(subjectName), pending);
+        }
+        return true;
+    }
 
-        List<String> errors = compatibilityCheckService.checkCompatibility(
-                newSchemaText, existingSchemas, compatibilityLevel);
+    private void checkCompatibility(RegistrationContext context, CompatibilityLevel compatibilityLevel,
+                                    List<SchemaEntity> pending) {
+        SubjectName subjectName = context.getSubject();
+
+        if (compatibilityLevel == CompatibilityLevel.NONE) {
+            return;
+        }
+
+        // Get existing schemas (newest first) in one query; non-transitive levels only need the latest
+        List<SchemaEntity> existingSchemas;
+        if (pending.isEmpty()) {
+            existingSchemas = schemaService.getSchemasBySubject(subjectName, !compatibilityLevel.isTransitive());
+        } else if (compatibilityLevel.isTransitive()) {
+            existingSchemas = new ArrayList<>(pending);
+            existingSchemas.addAll(schemaService.getSchemasBySubject(subjectName, false));
+        } else {
+            existingSchemas = List.of(pending.get(0));
+        }
+        if (existingSchemas.isEmpty()) {
+            return; // No existing versions, so compatible
+        }
+
+        List<String> errors = context.getParsedSchema() != null
+                ? compatibilityCheckService.checkCompatibility(
+                        context.getCacheKey(), context.getParsedSchema(), existingSchemas, compatibilityLevel)
+                : compatibilityCheckService.checkCompatibility(context.getSchemaText(), existingSchemas, compatibilityLevel);
 
         if (!errors.isEmpty()) {
             throw new IncompatibleSchemaException(
@@ -157,7 +416,7 @@ public class SubjectService {
     }
 
     public SubjectVersion getVersion(SubjectName subjectName, Version version, boolean deleted) {
-        Optional<SubjectVersion> sv = subjectVersionRepository.findBySubjectAndVersion(subjectName, version, deleted);
+        Optional<SubjectVersion> sv = subjectVersionIndex.find(subjectName, version, deleted);
         if (sv.isEmpty()) {
             if (version.isLatest()) {
                 throw new SubjectNotFoundException(subjectName.getValue());
@@ -167,18 +426,58 @@ public class SubjectService {
         return sv.get();
     }
 
+    /**
+     * IDs of the schemas referencing a subject-version, from the in-memory reference index.
+     */
+    public int[] getReferencedBy(SubjectName subjectName, Version version) {
+        SubjectVersion sv = getVersion(subjectName, version, false);
+        return referenceIndex.referencedBy(subjectName, sv.getVersion().getValue());
+    }
+
+    /**
+     * Every subject-version depending on a subject-version, directly or transitively.
+     */
+    public List<ReferenceIndex.Dependent> getDependents(SubjectName subjectName, Version version, boolean deleted) {
+        SubjectVersion sv = getVersion(subjectName, version, deleted);
+        return referenceIndex.dependents(subjectName, sv.getVersion().getValue(), deleted);
+    }
+
     @Transactional
     public int deleteVersion(SubjectName subjectName, Version version, boolean permanent) {
-        if (!subjectVersionRepository.existsBySubjectAndVersion(subjectName, version)) {
+        if (!subjectVersionIndex.exists(subjectName, version)) {
             throw new VersionNotFoundException(subjectName.getValue(), version.getValue());
         }
 
+        int[] referencing = referenceIndex.blockingDelete(subjectName, version.getValue(), permanent);
+        if (referencing.length == 0) {
+            // The index misses references committed concurrently or on nodes not yet heard from
+            subjectVersionRepository.lockSubject(subjectName);
+            referencing = schemaReferenceRepository.findBlockingDelete(subjectName, version, permanent);
+        }
+        if (referencing.length > 0) {
+            throw new ReferenceExistsException(
+                    "subject '" + subjectName.getValue() + "' version " + version.getValue(), referencing);
+        }
+
         if (permanent) {
             subjectVersionRepository.hardDelete(subjectName, version);
         } else {
             subjectVersionRepository.softDelete(subjectName, version);
         }
+        changeEventBus.publish(ChangeEvent.versionDeleted(subjectName, version, permanent));
 
         return version.getValue();
     }
+
+    private static String encodeCursor(String subject) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(subject.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
 }
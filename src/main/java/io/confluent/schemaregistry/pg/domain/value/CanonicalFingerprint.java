@@ -0,0 +1,33 @@
+package io.confluent.schemaregistry.pg.domain.value;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+
+/**
+ * 64-bit Rabin fingerprint of a schema's Avro parsing canonical form.
+ * <p>
+ * The parsing canonical form drops docs, aliases, defaults and formatting, so schemas that normalize
+ * to the same text always share a fingerprint, while a shared fingerprint only marks a candidate match
+ * that still has to be verified.
+ */
+public final class CanonicalFingerprint {
+
+    private CanonicalFingerprint() {
+    }
+
+    public static long of(Schema schema) {
+        return SchemaNormalization.parsingFingerprint64(schema);
+    }
+
+    /**
+     * Fingerprint of a schema that can be parsed on its own, or null if it cannot (e.g. it references
+     * types defined in other schemas).
+     */
+    public static Long compute(String schemaText) {
+        try {
+            return of(new Schema.Parser().parse(schemaText));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,35 +1,52 @@
 package io.confluent.schemaregistry.pg.domain.value;
 
-import lombok.Value;
-
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
 
 /**
  * Value object representing an MD5 hash of a schema.
  * Used for schema deduplication - schemas with identical content share the same hash.
+ * <p>
+ * The 16 digest bytes are held as two big-endian longs, so equality and hashing never touch a string.
+ * The database stores the same 16 bytes as a {@code uuid}; {@link #getValue()} gives the 32-character
+ * lowercase hex form used on the wire.
  */
-@Value
-public class Md5Hash {
-    String value;
+public final class Md5Hash {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
-    private Md5Hash(String value) {
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algorithm not available", e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    private Md5Hash(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Parse the 32-character lowercase hex form.
+     */
+    public static Md5Hash of(String value) {
         if (value == null || value.length() != 32) {
             throw new IllegalArgumentException(
                 "MD5 hash must be exactly 32 hexadecimal characters, got: " + value
             );
         }
-        if (!value.matches("[0-9a-f]{32}")) {
-            throw new IllegalArgumentException(
-                "MD5 hash must contain only lowercase hexadecimal characters, got: " + value
-            );
-        }
-        this.value = value;
+        return new Md5Hash(parseHex(value, 0), parseHex(value, 16));
     }
 
-    public static Md5Hash of(String value) {
-        return new Md5Hash(value);
+    public static Md5Hash of(UUID uuid) {
+        return new Md5Hash(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
     /**
@@ -37,25 +54,74 @@ public class Md5Hash {
      * Uses UTF-8 encoding to match Confluent's implementation.
      */
     public static Md5Hash compute(String schemaText) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hashBytes = md.digest(schemaText.getBytes(StandardCharsets.UTF_8));
-            return of(bytesToHex(hashBytes));
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("MD5 algorithm not available", e);
-        }
+        byte[] digest = MD5.get().digest(schemaText.getBytes(StandardCharsets.UTF_8));
+        return new Md5Hash(readLong(digest, 0), readLong(digest, 8));
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
+    /**
+     * The 32-character lowercase hex form.
+     */
+    public String getValue() {
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * The same 16 bytes as a UUID, for the {@code uuid} column.
+     */
+    public UUID toUuid() {
+        return new UUID(high, low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Md5Hash other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        // Digest bits are uniformly distributed, so any 32 of them make a good hash code
+        return (int) low;
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
+    }
+
+    private static long parseHex(String value, int offset) {
+        long result = 0;
+        for (int i = offset; i < offset + 16; i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                throw new IllegalArgumentException(
+                    "MD5 hash must contain only lowercase hexadecimal characters, got: " + value
+                );
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long result = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            result = (result << 8) | (bytes[i] & 0xFF);
+        }
+        return result;
     }
 }
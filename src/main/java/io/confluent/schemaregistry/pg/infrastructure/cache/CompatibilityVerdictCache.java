@@ -0,0 +1,55 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.domain.model.CompatibilityVerdict;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Memo of reader/writer compatibility verdicts keyed by the parse cache keys of both schemas: the MD5
+ * hash of the text, combined with the referenced schema IDs for schemas with references.
+ * Direction matters: (A, B) and (B, A) are separate entries.
+ */
+@Component
+public class CompatibilityVerdictCache {
+
+    private final Cache<Pair, CompatibilityVerdict> cache;
+
+    public CompatibilityVerdictCache(MeterRegistry meterRegistry,
+                                     @Value("${schema-registry.cache.compatibility-verdicts.max-size:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "compatibility-verdicts");
+    }
+
+    /**
+     * Get the verdict for a reader/writer pair, computing it on a miss.
+     */
+    public CompatibilityVerdict get(Md5Hash reader, Md5Hash writer, Supplier<CompatibilityVerdict> compute) {
+        return cache.get(new Pair(reader, writer), key -> compute.get());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record Pair(Md5Hash reader, Md5Hash writer) {
+    }
+}
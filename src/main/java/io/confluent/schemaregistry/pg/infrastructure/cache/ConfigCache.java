@@ -0,0 +1,126 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.model.GlobalConfig;
+import io.confluent.schemaregistry.pg.domain.model.SubjectConfig;
+import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
+import io.confluent.schemaregistry.pg.domain.value.Mode;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventHandler;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.ConfigRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory snapshot of global and subject-level configuration.
+ * Effective mode and compatibility resolve in O(1) without touching the database.
+ * <p>
+ * Committed writes from any node arrive as {@link ChangeEvent}s; polling the trigger-maintained
+ * config_version counter is a backstop for notifications that never arrive.
+ */
+@Component
+public class ConfigCache implements ChangeEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigCache.class);
+
+    private final ConfigRepository configRepository;
+
+    private volatile long version = -1;
+    private volatile GlobalConfig globalConfig = GlobalConfig.builder().build();
+    private volatile Map<SubjectName, SubjectConfig> subjectConfigs = new ConcurrentHashMap<>();
+
+    public ConfigCache(ConfigRepository configRepository) {
+        this.configRepository = configRepository;
+    }
+
+    @PostConstruct
+    public void refresh() {
+        // Read the version first: anything written after this point bumps it again and triggers another refresh
+        long currentVersion = configRepository.getConfigVersion();
+        GlobalConfig global = configRepository.getGlobalConfig();
+
+        Map<SubjectName, SubjectConfig> subjects = new ConcurrentHashMap<>();
+        for (SubjectConfig config : configRepository.findAllSubjectConfigs()) {
+            subjects.put(config.getSubject(), config);
+        }
+
+        this.globalConfig = global;
+        this.subjectConfigs = subjects;
+        this.version = currentVersion;
+        log.debug("Loaded config snapshot version {} with {} subject configs", currentVersion, subjects.size());
+    }
+
+    /**
+     * Reload the snapshot when another node has changed the configuration.
+     */
+    @Scheduled(fixedDelayString = "${schema-registry.cache.config.refresh-interval-ms:5000}")
+    public void refreshIfChanged() {
+        if (configRepository.getConfigVersion() != version) {
+            refresh();
+        }
+    }
+
+    public GlobalConfig getGlobalConfig() {
+        return globalConfig;
+    }
+
+    public Optional<SubjectConfig> findSubjectConfig(SubjectName subject) {
+        return Optional.ofNullable(subjectConfigs.get(subject));
+    }
+
+    public CompatibilityLevel getEffectiveCompatibility(SubjectName subject) {
+        SubjectConfig subjectConfig = subjectConfigs.get(subject);
+        if (subjectConfig != null && subjectConfig.getCompatibility() != null) {
+            return subjectConfig.getCompatibility();
+        }
+        return globalConfig.getCompatibility();
+    }
+
+    public Mode getEffectiveMode(SubjectName subject) {
+        SubjectConfig subjectConfig = subjectConfigs.get(subject);
+        if (subjectConfig != null && subjectConfig.getMode() != null) {
+            return subjectConfig.getMode();
+        }
+        return globalConfig.getMode();
+    }
+
+    /**
+     * Whether the subject's config asks for schemas to be normalized even without {@code normalize=true}.
+     */
+    public boolean isNormalize(SubjectName subject) {
+        SubjectConfig subjectConfig = subjectConfigs.get(subject);
+        return subjectConfig != null && subjectConfig.isNormalize();
+    }
+
+    /**
+     * Follow a committed config write, made locally or on another node, by reloading just the affected row.
+     */
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.getType() != ChangeEvent.Type.CONFIG_CHANGED) {
+            return;
+        }
+        if (event.getSubject() == null) {
+            this.globalConfig = configRepository.getGlobalConfig();
+            return;
+        }
+        Optional<SubjectConfig> config = configRepository.findSubjectConfig(event.getSubject());
+        if (config.isPresent()) {
+            subjectConfigs.put(event.getSubject(), config.get());
+        } else {
+            subjectConfigs.remove(event.getSubject());
+        }
+    }
+
+    @Override
+    public void resync() {
+        refresh();
+    }
+}
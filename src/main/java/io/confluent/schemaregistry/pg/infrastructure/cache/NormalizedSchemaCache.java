@@ -0,0 +1,50 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Memo of normalized schema text keyed by the MD5 hash of the raw text.
+ * Normalization is a pure function of the text, so entries are only ever evicted, never invalidated.
+ */
+@Component
+public class NormalizedSchemaCache {
+
+    private final Cache<Md5Hash, String> cache;
+
+    public NormalizedSchemaCache(MeterRegistry meterRegistry,
+                                 @Value("${schema-registry.cache.normalized-schemas.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "normalized-schemas");
+    }
+
+    /**
+     * Get the normalized form of the text with the given hash, computing it on a miss.
+     */
+    public String get(Md5Hash rawHash, Function<Md5Hash, String> normalizer) {
+        return cache.get(rawHash, normalizer);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,68 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared cache of parsed Avro schemas keyed by the MD5 hash of their text. Schemas with references are
+ * keyed by a hash that also covers the referenced schemas (see {@link
+ * io.confluent.schemaregistry.pg.domain.service.ReferenceResolver.Parsed}), since the same text can
+ * parse differently against different reference versions.
+ * Each key always parses to an equal schema, so entries are only ever evicted, never invalidated.
+ */
+@Component
+public class ParsedSchemaCache {
+
+    private final Cache<Md5Hash, Schema> cache;
+
+    public ParsedSchemaCache(MeterRegistry meterRegistry,
+                             @Value("${schema-registry.cache.parsed-schemas.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "parsed-schemas");
+    }
+
+    /**
+     * Get the parsed form of a schema, parsing it on a miss.
+     * Parse failures propagate as Avro exceptions and nothing is cached.
+     */
+    public Schema get(Md5Hash hash, String schemaText) {
+        return cache.get(hash, key -> new Schema.Parser().parse(schemaText));
+    }
+
+    public Schema getIfPresent(Md5Hash hash) {
+        return cache.getIfPresent(hash);
+    }
+
+    public void put(Md5Hash hash, Schema schema) {
+        cache.put(hash, schema);
+    }
+
+    /**
+     * Get the parsed form of a schema whose hash is not yet known.
+     */
+    public Schema get(String schemaText) {
+        return get(Md5Hash.compute(schemaText), schemaText);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
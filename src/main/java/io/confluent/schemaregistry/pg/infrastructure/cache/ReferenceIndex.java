@@ -0,0 +1,360 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventHandler;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectVersionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory reverse index of schema references: for each referenced subject-version (or subject at
+ * "latest"), the IDs of the schemas that reference it, and for each referencing schema, the
+ * subject-versions that use it.
+ * <p>
+ * Answers "referenced by" lookups, delete-safety checks and transitive impact analysis without touching
+ * the database. The index can lag commits made concurrently or on other nodes, so a delete it allows is
+ * confirmed against the database before it goes ahead. References belong to a schema and never change, so a schema's references are read once,
+ * when the first version using it is registered. Loaded at startup and kept current through
+ * {@link ChangeEvent}s.
+ */
+@Component
+public class ReferenceIndex implements ChangeEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceIndex.class);
+
+    private static final int LATEST = -1;
+
+    /**
+     * A subject-version, or a subject at {@link #LATEST} when used as a reference target.
+     */
+    private record Key(String subject, int version) {
+    }
+
+    /**
+     * A subject-version whose schema has references.
+     */
+    private record Use(int schemaId, boolean deleted) {
+    }
+
+    /**
+     * A subject-version that depends, directly or transitively, on another.
+     */
+    public record Dependent(String subject, int version, int id, boolean deleted) {
+    }
+
+    private final SchemaReferenceRepository schemaReferenceRepository;
+    private final SubjectVersionRepository subjectVersionRepository;
+    private final SubjectVersionIndex subjectVersionIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile State state = new State();
+
+    public ReferenceIndex(SchemaReferenceRepository schemaReferenceRepository,
+                          SubjectVersionRepository subjectVersionRepository,
+                          SubjectVersionIndex subjectVersionIndex,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry) {
+        this.schemaReferenceRepository = schemaReferenceRepository;
+        this.subjectVersionRepository = subjectVersionRepository;
+        this.subjectVersionIndex = subjectVersionIndex;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder("schema.registry.reference.index.targets", this, index -> index.state.referencedBy.size())
+                .description("Referenced subject-versions held in the in-memory reference index")
+                .register(meterRegistry);
+        Gauge.builder("schema.registry.reference.index.schemas", this, index -> index.state.referencesOf.size())
+                .description("Schemas with references held in the in-memory reference index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        long start = System.nanoTime();
+        Map<Key, List<Integer>> referencing = new HashMap<>();
+        Map<Integer, List<Key>> references = new HashMap<>();
+        State loaded = new State();
+
+        // Stream inside a transaction so the driver can use a cursor instead of buffering every row
+        transactionTemplate.executeWithoutResult(status -> {
+            schemaReferenceRepository.forEachReference(rs -> {
+                int schemaId = rs.getInt("schema_id");
+                Key target = new Key(rs.getString("subject"), rs.getInt("version"));
+                referencing.computeIfAbsent(target, key -> new ArrayList<>()).add(schemaId);
+                references.computeIfAbsent(schemaId, id -> new ArrayList<>()).add(target);
+                loaded.known.set(schemaId);
+            });
+            subjectVersionRepository.forEachVersion(rs -> {
+                int schemaId = rs.getInt("schema_id");
+                loaded.known.set(schemaId);
+                if (references.containsKey(schemaId)) {
+                    loaded.addUse(new Key(rs.getString("subject"), rs.getInt("version")),
+                            new Use(schemaId, rs.getBoolean("deleted")));
+                }
+            });
+        });
+        referencing.forEach((target, ids) -> loaded.referencedBy.put(target,
+                ids.stream().mapToInt(Integer::intValue).distinct().sorted().toArray()));
+        references.forEach((schemaId, targets) -> loaded.referencesOf.put(schemaId, targets.toArray(Key[]::new)));
+
+        this.state = loaded;
+        log.info("Loaded reference index: {} referencing schemas, {} referenced subject-versions in {} ms",
+                loaded.referencesOf.size(), loaded.referencedBy.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * IDs of the schemas that reference a subject-version, in ascending order. References to "latest"
+     * count when the version is the subject's newest non-deleted one.
+     */
+    public int[] referencedBy(SubjectName subject, int version) {
+        return referencing(state, subject.getValue(), version);
+    }
+
+    /**
+     * Schemas whose references would break if the subject-version were deleted: those referencing it
+     * that are still used by a non-deleted subject-version, or by any subject-version at all when the
+     * delete is permanent. References to "latest" count only when no other non-deleted version is left
+     * for them to resolve to.
+     */
+    public int[] blockingDelete(SubjectName subject, int version, boolean permanent) {
+        State current = state;
+        int[] live = subjectVersionIndex.versions(subject, false);
+        boolean lastLive = live.length == 1 && live[0] == version;
+
+        Set<Integer> blocking = new HashSet<>();
+        collectBlocking(current, current.referencedBy.get(new Key(subject.getValue(), version)), permanent, null, blocking);
+        if (lastLive) {
+            collectBlocking(current, current.referencedBy.get(new Key(subject.getValue(), LATEST)), permanent, null, blocking);
+        }
+        return blocking.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Like {@link #blockingDelete(SubjectName, int, boolean)} for every version of a subject at once.
+     * References from versions of the subject itself do not count, since they go with it.
+     */
+    public int[] blockingDelete(SubjectName subject, boolean permanent) {
+        State current = state;
+        String name = subject.getValue();
+
+        Set<Integer> blocking = new HashSet<>();
+        for (int version : subjectVersionIndex.versions(subject, true)) {
+            collectBlocking(current, current.referencedBy.get(new Key(name, version)), permanent, name, blocking);
+        }
+        collectBlocking(current, current.referencedBy.get(new Key(name, LATEST)), permanent, name, blocking);
+        return blocking.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Every subject-version that depends on the given one, directly or through a chain of references,
+     * ordered by subject and version. Soft-deleted dependents are walked through and included only when
+     * asked for.
+     */
+    public List<Dependent> dependents(SubjectName subject, int version, boolean includeDeleted) {
+        State current = state;
+        List<Dependent> result = new ArrayList<>();
+        Set<Key> visited = new HashSet<>();
+        Deque<Key> pending = new ArrayDeque<>();
+        Key start = new Key(subject.getValue(), version);
+        visited.add(start);
+        pending.add(start);
+
+        while (!pending.isEmpty()) {
+            Key target = pending.poll();
+            for (int schemaId : referencing(current, target.subject(), target.version())) {
+                for (Key user : current.usersOf.getOrDefault(schemaId, new Key[0])) {
+                    if (!visited.add(user)) {
+                        continue;
+                    }
+                    Use use = current.uses.get(user);
+                    if (use == null) {
+                        continue;
+                    }
+                    pending.add(user);
+                    if (includeDeleted || !use.deleted()) {
+                        result.add(new Dependent(user.subject(), user.version(), schemaId, use.deleted()));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Dependent::subject).thenComparingInt(Dependent::version));
+        return result;
+    }
+
+    @Override
+    public synchronized void onChange(ChangeEvent event) {
+        State current = state;
+        switch (event.getType()) {
+            case VERSION_REGISTERED -> {
+                int schemaId = event.getSchemaId();
+                if (!current.known.get(schemaId)) {
+                    // First version using this schema; its references were committed with it
+                    current.addSchema(schemaId, schemaReferenceRepository.findBySchemaId(SchemaId.of(schemaId)));
+                }
+                if (current.referencesOf.containsKey(schemaId)) {
+                    current.addUse(new Key(event.getSubject().getValue(), event.getVersion()), new Use(schemaId, false));
+                }
+            }
+            case VERSION_DELETED -> current.deleteUse(
+                    new Key(event.getSubject().getValue(), event.getVersion()), event.isPermanent());
+            case SUBJECT_DELETED -> {
+                String subject = event.getSubject().getValue();
+                for (Key key : List.copyOf(current.uses.keySet())) {
+                    if (key.subject().equals(subject)) {
+                        current.deleteUse(key, event.isPermanent());
+                    }
+                }
+            }
+            default -> {
+                // Config changes do not affect references
+            }
+        }
+    }
+
+    @Override
+    public void resync() {
+        load();
+    }
+
+    /**
+     * Referencing schema IDs for a subject-version, plus references to "latest" when it is the subject's
+     * newest non-deleted version.
+     */
+    private int[] referencing(State current, String subject, int version) {
+        int[] exact = current.referencedBy.getOrDefault(new Key(subject, version), new int[0]);
+        int[] latest = current.referencedBy.get(new Key(subject, LATEST));
+        if (latest == null) {
+            return exact;
+        }
+        Optional<SubjectVersion> newest = subjectVersionIndex.find(SubjectName.of(subject), Version.latest(), false);
+        if (newest.isEmpty() || newest.get().getVersion().getValue() != version) {
+            return exact;
+        }
+        return IntStream.concat(Arrays.stream(exact), Arrays.stream(latest))
+                .distinct().sorted().toArray();
+    }
+
+    private static void collectBlocking(State current, int[] schemaIds, boolean permanent, String ownSubject,
+                                        Set<Integer> blocking) {
+        if (schemaIds == null) {
+            return;
+        }
+        for (int schemaId : schemaIds) {
+            for (Key user : current.usersOf.getOrDefault(schemaId, new Key[0])) {
+                Use use = current.uses.get(user);
+                if (use != null && (permanent || !use.deleted()) && !user.subject().equals(ownSubject)) {
+                    blocking.add(schemaId);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Index contents. Values are replaced, never mutated, so readers need no lock; writers hold the
+     * index monitor.
+     */
+    private static final class State {
+        /**
+         * Reference target to the sorted IDs of the schemas referencing it.
+         */
+        final Map<Key, int[]> referencedBy = new ConcurrentHashMap<>();
+        /**
+         * Referencing schema ID to its reference targets.
+         */
+        final Map<Integer, Key[]> referencesOf = new ConcurrentHashMap<>();
+        /**
+         * Referencing schema ID to the subject-versions holding it.
+         */
+        final Map<Integer, Key[]> usersOf = new ConcurrentHashMap<>();
+        /**
+         * Subject-versions holding a referencing schema.
+         */
+        final Map<Key, Use> uses = new ConcurrentHashMap<>();
+        /**
+         * Schema IDs whose references have been read, whether or not they have any. Writers only.
+         */
+        final BitSet known = new BitSet();
+
+        void addSchema(int schemaId, List<SchemaReference> references) {
+            known.set(schemaId);
+            if (references.isEmpty()) {
+                return;
+            }
+            Key[] targets = new Key[references.size()];
+            for (int i = 0; i < targets.length; i++) {
+                SchemaReference reference = references.get(i);
+                targets[i] = new Key(reference.getSubject().getValue(), reference.getVersion().getValue());
+                referencedBy.merge(targets[i], new int[]{schemaId}, State::union);
+            }
+            referencesOf.put(schemaId, targets);
+        }
+
+        void addUse(Key user, Use use) {
+            Use previous = uses.put(user, use);
+            if (previous != null && previous.schemaId() != use.schemaId()) {
+                removeUser(previous.schemaId(), user);
+            }
+            usersOf.compute(use.schemaId(), (id, users) -> {
+                if (users == null) {
+                    return new Key[]{user};
+                }
+                if (Arrays.asList(users).contains(user)) {
+                    return users;
+                }
+                Key[] grown = Arrays.copyOf(users, users.length + 1);
+                grown[users.length] = user;
+                return grown;
+            });
+        }
+
+        void deleteUse(Key user, boolean permanent) {
+            Use use = uses.get(user);
+            if (use == null) {
+                return;
+            }
+            if (permanent) {
+                uses.remove(user);
+                removeUser(use.schemaId(), user);
+            } else if (!use.deleted()) {
+                uses.put(user, new Use(use.schemaId(), true));
+            }
+        }
+
+        private void removeUser(int schemaId, Key user) {
+            usersOf.computeIfPresent(schemaId, (id, users) -> {
+                Key[] remaining = Arrays.stream(users).filter(key -> !key.equals(user)).toArray(Key[]::new);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+
+        private static int[] union(int[] a, int[] b) {
+            return IntStream.concat(Arrays.stream(a), Arrays.stream(b)).distinct().sorted().toArray();
+        }
+    }
+}
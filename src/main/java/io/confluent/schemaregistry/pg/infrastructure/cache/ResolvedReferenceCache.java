@@ -0,0 +1,76 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Resolved reference closures: for a subject-version, every named Avro type it defines or reaches
+ * through its references, keyed by full name.
+ * <p>
+ * Subject-versions are immutable, so entries only go stale when a version is permanently deleted and
+ * its number later reused; those events drop the subject's entries. Closures that went through a
+ * "latest" reference are never put here.
+ */
+@Component
+public class ResolvedReferenceCache implements ChangeEventHandler {
+
+    public record Key(String subject, int version) {
+    }
+
+    private final Cache<Key, Map<String, Schema>> cache;
+
+    public ResolvedReferenceCache(MeterRegistry meterRegistry,
+                                  @Value("${schema-registry.cache.resolved-references.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "resolved-references");
+    }
+
+    public Map<String, Schema> getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Map<String, Schema> types) {
+        cache.put(key, Map.copyOf(types));
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        boolean hardDelete = event.isPermanent()
+                && (event.getType() == ChangeEvent.Type.VERSION_DELETED
+                    || event.getType() == ChangeEvent.Type.SUBJECT_DELETED);
+        if (hardDelete) {
+            String subject = event.getSubject().getValue();
+            cache.asMap().keySet().removeIf(key -> key.subject().equals(subject));
+        }
+    }
+
+    @Override
+    public void resync() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
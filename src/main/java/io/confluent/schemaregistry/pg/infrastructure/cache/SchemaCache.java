@@ -0,0 +1,66 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * In-memory cache of fully assembled schemas (references included) keyed by schema ID.
+ * Schemas are immutable once they have an ID, so entries are only ever evicted, never invalidated.
+ */
+@Component
+public class SchemaCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final int REFERENCE_OVERHEAD_BYTES = 128;
+
+    private final Cache<SchemaId, SchemaEntity> cache;
+
+    public SchemaCache(MeterRegistry meterRegistry,
+                       @Value("${schema-registry.cache.schemas.max-weight:67108864}") long maxWeight) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((SchemaId id, SchemaEntity schema) -> weigh(schema))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "schemas");
+    }
+
+    /**
+     * Get a schema by ID, loading it on a miss. Loader exceptions propagate and nothing is cached.
+     */
+    public SchemaEntity get(SchemaId schemaId, Function<SchemaId, SchemaEntity> loader) {
+        return cache.get(schemaId, loader);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Approximate heap footprint: UTF-16 schema text plus fixed per-entry and per-reference overhead.
+     */
+    private static int weigh(SchemaEntity schema) {
+        long weight = ENTRY_OVERHEAD_BYTES + 2L * schema.getSchemaText().length();
+        if (schema.getReferences() != null) {
+            weight += (long) REFERENCE_OVERHEAD_BYTES * schema.getReferences().size();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,136 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.model.SubjectPage;
+import io.confluent.schemaregistry.pg.domain.model.SubjectSummary;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventHandler;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory copy of the subjects catalog.
+ * <p>
+ * Prefix queries seek straight to the first matching subject and stop at the first one past it, and
+ * pages resume strictly after the last subject returned, so each page costs O(log n + page size).
+ * Kept current by re-reading a subject's catalog row whenever one of its versions changes. Loads and
+ * changes are serialized, so a change arriving while a (re)load runs is applied to the loaded map.
+ */
+@Component
+public class SubjectCatalog implements ChangeEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SubjectCatalog.class);
+
+    private final SubjectRepository subjectRepository;
+
+    private volatile ConcurrentSkipListMap<String, Counts> subjects = new ConcurrentSkipListMap<>();
+
+    public SubjectCatalog(SubjectRepository subjectRepository) {
+        this.subjectRepository = subjectRepository;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        ConcurrentSkipListMap<String, Counts> loaded = new ConcurrentSkipListMap<>();
+        for (SubjectSummary summary : subjectRepository.findAll()) {
+            loaded.put(summary.getSubject().getValue(),
+                    new Counts(summary.getLiveVersions(), summary.getDeletedVersions()));
+        }
+        this.subjects = loaded;
+        log.info("Loaded subject catalog with {} subjects", loaded.size());
+    }
+
+    /**
+     * List subject names in order.
+     *
+     * @param prefix         only subjects starting with this prefix; null or empty for all
+     * @param after          resume strictly after this subject; null for the first page
+     * @param limit          maximum number of subjects to return
+     * @param includeDeleted also include subjects whose versions are all soft-deleted
+     * @param deletedOnly    only subjects with at least one soft-deleted version
+     */
+    public SubjectPage list(String prefix, String after, int limit, boolean includeDeleted, boolean deletedOnly) {
+        String start = prefix != null ? prefix : "";
+        boolean inclusive = true;
+        if (after != null && after.compareTo(start) >= 0) {
+            start = after;
+            inclusive = false;
+        }
+
+        NavigableMap<String, Counts> view = subjects.tailMap(start, inclusive);
+        List<String> page = new ArrayList<>(Math.min(limit, 1024));
+        String nextCursor = null;
+
+        for (Map.Entry<String, Counts> entry : view.entrySet()) {
+            String subject = entry.getKey();
+            if (prefix != null && !subject.startsWith(prefix)) {
+                break;
+            }
+            if (!entry.getValue().matches(includeDeleted, deletedOnly)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                nextCursor = page.get(page.size() - 1);
+                break;
+            }
+            page.add(subject);
+        }
+
+        return new SubjectPage(page, nextCursor);
+    }
+
+    public Optional<SubjectSummary> find(SubjectName subject) {
+        Counts counts = subjects.get(subject.getValue());
+        if (counts == null) {
+            return Optional.empty();
+        }
+        return Optional.of(SubjectSummary.builder()
+                .subject(subject)
+                .liveVersions(counts.live())
+                .deletedVersions(counts.deleted())
+                .build());
+    }
+
+    public int size() {
+        return subjects.size();
+    }
+
+    @Override
+    public synchronized void onChange(ChangeEvent event) {
+        if (event.getType() == ChangeEvent.Type.CONFIG_CHANGED) {
+            return;
+        }
+        SubjectName subject = event.getSubject();
+        Optional<SubjectSummary> summary = subjectRepository.findBySubject(subject);
+        if (summary.isPresent()) {
+            subjects.put(subject.getValue(),
+                    new Counts(summary.get().getLiveVersions(), summary.get().getDeletedVersions()));
+        } else {
+            subjects.remove(subject.getValue());
+        }
+    }
+
+    @Override
+    public void resync() {
+        load();
+    }
+
+    private record Counts(int live, int deleted) {
+        boolean matches(boolean includeDeleted, boolean deletedOnly) {
+            if (deletedOnly) {
+                return deleted > 0;
+            }
+            return live > 0 || includeDeleted;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventHandler;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectVersionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of every subject's versions, schema IDs, schema hashes and soft-delete flags.
+ * <p>
+ * Each subject maps to an immutable {@link Entry} of parallel primitive arrays sorted by version;
+ * changes replace the entry wholesale, so readers never see a partially applied update.
+ * Loaded at startup and kept current through {@link ChangeEvent}s. Loads and changes are serialized, so
+ * a change committed while a (re)load streams is applied on top of the loaded map rather than lost.
+ */
+@Component
+public class SubjectVersionIndex implements ChangeEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SubjectVersionIndex.class);
+
+    /**
+     * Rough per-subject overhead: map node, key string, entry object and four array headers.
+     */
+    private static final int SUBJECT_OVERHEAD_BYTES = 176;
+
+    /**
+     * Per-version payload: one int version, one int schema ID, one boolean and a hash reference plus
+     * the two-long hash object.
+     */
+    private static final int VERSION_BYTES = Integer.BYTES + Integer.BYTES + 1 + 4 + 32;
+
+    private final SubjectVersionRepository subjectVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<String, Entry> subjects = new ConcurrentHashMap<>();
+
+    public SubjectVersionIndex(SubjectVersionRepository subjectVersionRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.subjectVersionRepository = subjectVersionRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder("schema.registry.subject.index.subjects", this, index -> index.subjects.size())
+                .description("Subjects held in the in-memory subject/version index")
+                .register(meterRegistry);
+        Gauge.builder("schema.registry.subject.index.versions", this, SubjectVersionIndex::versionCount)
+                .description("Subject-versions held in the in-memory subject/version index")
+                .register(meterRegistry);
+        Gauge.builder("schema.registry.subject.index.bytes", this, SubjectVersionIndex::estimatedBytes)
+                .description("Estimated heap footprint of the in-memory subject/version index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        long start = System.nanoTime();
+        Map<String, Entry> loaded = new ConcurrentHashMap<>();
+        EntryBuilder[] current = {null};
+
+        // Stream inside a transaction so the driver can use a cursor instead of buffering every row
+        transactionTemplate.executeWithoutResult(status -> subjectVersionRepository.forEachVersion(rs -> {
+            String subject = rs.getString("subject");
+            if (current[0] == null || !current[0].subject.equals(subject)) {
+                if (current[0] != null) {
+                    loaded.put(current[0].subject, current[0].build());
+                }
+                current[0] = new EntryBuilder(subject);
+            }
+            current[0].add(rs.getInt("version"), rs.getInt("schema_id"), rs.getBoolean("deleted"),
+                    Md5Hash.of(rs.getObject("md5_hash", UUID.class)));
+        }));
+        if (current[0] != null) {
+            loaded.put(current[0].subject, current[0].build());
+        }
+
+        this.subjects = loaded;
+        log.info("Loaded subject/version index: {} subjects, {} versions, ~{} bytes in {} ms",
+                loaded.size(), versionCount(), estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Versions of a subject in ascending order, optionally including soft-deleted ones.
+     * Returns an empty array for unknown subjects.
+     */
+    public int[] versions(SubjectName subject, boolean includeDeleted) {
+        Entry entry = subjects.get(subject.getValue());
+        if (entry == null) {
+            return new int[0];
+        }
+        if (includeDeleted) {
+            return entry.versions.clone();
+        }
+        int[] result = new int[entry.versions.length];
+        int count = 0;
+        for (int i = 0; i < entry.versions.length; i++) {
+            if (!entry.deleted[i]) {
+                result[count++] = entry.versions[i];
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Find a subject-version, resolving "latest" to the newest (non-deleted unless includeDeleted) version.
+     */
+    public Optional<SubjectVersion> find(SubjectName subject, Version version, boolean includeDeleted) {
+        Entry entry = subjects.get(subject.getValue());
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        int index = -1;
+        if (version.isLatest()) {
+            for (int i = entry.versions.length - 1; i >= 0; i--) {
+                if (includeDeleted || !entry.deleted[i]) {
+                    index = i;
+                    break;
+                }
+            }
+        } else {
+            int i = Arrays.binarySearch(entry.versions, version.getValue());
+            if (i >= 0 && (includeDeleted || !entry.deleted[i])) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(SubjectVersion.builder()
+                .subject(subject)
+                .version(Version.of(entry.versions[index]))
+                .schemaId(SchemaId.of(entry.schemaIds[index]))
+                .deleted(entry.deleted[index])
+                .build());
+    }
+
+    /**
+     * Find the newest version of a subject holding the schema with the given hash, skipping soft-deleted
+     * versions unless includeDeleted.
+     */
+    public Optional<SubjectVersion> findByHash(SubjectName subject, Md5Hash hash, boolean includeDeleted) {
+        Entry entry = subjects.get(subject.getValue());
+        if (entry == null) {
+            return Optional.empty();
+        }
+        for (int i = entry.versions.length - 1; i >= 0; i--) {
+            if ((includeDeleted || !entry.deleted[i]) && hash.equals(entry.hashes[i])) {
+                return Optional.of(SubjectVersion.builder()
+                        .subject(subject)
+                        .version(Version.of(entry.versions[i]))
+                        .schemaId(SchemaId.of(entry.schemaIds[i]))
+                        .deleted(entry.deleted[i])
+                        .build());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Whether the subject has at least one non-deleted version.
+     */
+    public boolean exists(SubjectName subject) {
+        Entry entry = subjects.get(subject.getValue());
+        if (entry == null) {
+            return false;
+        }
+        for (boolean deleted : entry.deleted) {
+            if (!deleted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the subject-version exists, soft-deleted or not.
+     */
+    public boolean exists(SubjectName subject, Version version) {
+        Entry entry = subjects.get(subject.getValue());
+        return entry != null && Arrays.binarySearch(entry.versions, version.getValue()) >= 0;
+    }
+
+    @Override
+    public synchronized void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case VERSION_REGISTERED -> subjects.compute(event.getSubject().getValue(),
+                    (subject, entry) -> Entry.withVersion(
+                            entry, event.getVersion(), event.getSchemaId(), event.getSchemaHash()));
+            case VERSION_DELETED -> subjects.computeIfPresent(event.getSubject().getValue(),
+                    (subject, entry) -> event.isPermanent()
+                            ? entry.withoutVersion(event.getVersion())
+                            : entry.withVersionDeleted(event.getVersion()));
+            case SUBJECT_DELETED -> {
+                if (event.isPermanent()) {
+                    subjects.remove(event.getSubject().getValue());
+                } else {
+                    subjects.computeIfPresent(event.getSubject().getValue(), (subject, entry) -> entry.allDeleted());
+                }
+            }
+            default -> {
+                // Config changes do not affect the index
+            }
+        }
+    }
+
+    @Override
+    public void resync() {
+        load();
+    }
+
+    public int subjectCount() {
+        return subjects.size();
+    }
+
+    public long versionCount() {
+        long count = 0;
+        for (Entry entry : subjects.values()) {
+            count += entry.versions.length;
+        }
+        return count;
+    }
+
+    /**
+     * Estimated heap footprint from the array layout, including subject name strings.
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, Entry> e : subjects.entrySet()) {
+            bytes += SUBJECT_OVERHEAD_BYTES + e.getKey().length() + (long) VERSION_BYTES * e.getValue().versions.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Immutable per-subject state: parallel arrays sorted by version.
+     */
+    private static final class Entry {
+        final int[] versions;
+        final int[] schemaIds;
+        final boolean[] deleted;
+        final Md5Hash[] hashes;
+
+        Entry(int[] versions, int[] schemaIds, boolean[] deleted, Md5Hash[] hashes) {
+            this.versions = versions;
+            this.schemaIds = schemaIds;
+            this.deleted = deleted;
+            this.hashes = hashes;
+        }
+
+        static Entry withVersion(Entry entry, int version, int schemaId, Md5Hash hash) {
+            if (entry == null) {
+                return new Entry(new int[]{version}, new int[]{schemaId}, new boolean[]{false}, new Md5Hash[]{hash});
+            }
+            int i = Arrays.binarySearch(entry.versions, version);
+            if (i >= 0) {
+                // Already present (e.g. applied by a resync); refresh in place on a copy
+                Entry copy = entry.copy();
+                copy.schemaIds[i] = schemaId;
+                copy.deleted[i] = false;
+                copy.hashes[i] = hash;
+                return copy;
+            }
+            int insertAt = -i - 1;
+            int n = entry.versions.length;
+            int[] versions = new int[n + 1];
+            int[] schemaIds = new int[n + 1];
+            boolean[] deleted = new boolean[n + 1];
+            Md5Hash[] hashes = new Md5Hash[n + 1];
+            System.arraycopy(entry.versions, 0, versions, 0, insertAt);
+            System.arraycopy(entry.schemaIds, 0, schemaIds, 0, insertAt);
+            System.arraycopy(entry.deleted, 0, deleted, 0, insertAt);
+            System.arraycopy(entry.hashes, 0, hashes, 0, insertAt);
+            versions[insertAt] = version;
+            schemaIds[insertAt] = schemaId;
+            hashes[insertAt] = hash;
+            System.arraycopy(entry.versions, insertAt, versions, insertAt + 1, n - insertAt);
+            System.arraycopy(entry.schemaIds, insertAt, schemaIds, insertAt + 1, n - insertAt);
+            System.arraycopy(entry.deleted, insertAt, deleted, insertAt + 1, n - insertAt);
+            System.arraycopy(entry.hashes, insertAt, hashes, insertAt + 1, n - insertAt);
+            return new Entry(versions, schemaIds, deleted, hashes);
+        }
+
+        Entry withoutVersion(int version) {
+            int i = Arrays.binarySearch(versions, version);
+            if (i < 0) {
+                return this;
+            }
+            int n = versions.length;
+            if (n == 1) {
+                return null; // Removes the subject
+            }
+            int[] newVersions = new int[n - 1];
+            int[] newSchemaIds = new int[n - 1];
+            boolean[] newDeleted = new boolean[n - 1];
+            Md5Hash[] newHashes = new Md5Hash[n - 1];
+            System.arraycopy(versions, 0, newVersions, 0, i);
+            System.arraycopy(schemaIds, 0, newSchemaIds, 0, i);
+            System.arraycopy(deleted, 0, newDeleted, 0, i);
+            System.arraycopy(hashes, 0, newHashes, 0, i);
+            System.arraycopy(versions, i + 1, newVersions, i, n - i - 1);
+            System.arraycopy(schemaIds, i + 1, newSchemaIds, i, n - i - 1);
+            System.arraycopy(deleted, i + 1, newDeleted, i, n - i - 1);
+            System.arraycopy(hashes, i + 1, newHashes, i, n - i - 1);
+            return new Entry(newVersions, newSchemaIds, newDeleted, newHashes);
+        }
+
+        Entry withVersionDeleted(int version) {
+            int i = Arrays.binarySearch(versions, version);
+            if (i < 0 || deleted[i]) {
+                return this;
+            }
+            Entry copy = copy();
+            copy.deleted[i] = true;
+            return copy;
+        }
+
+        Entry allDeleted() {
+            boolean[] newDeleted = new boolean[deleted.length];
+            Arrays.fill(newDeleted, true);
+            return new Entry(versions, schemaIds, newDeleted, hashes);
+        }
+
+        private Entry copy() {
+            return new Entry(versions.clone(), schemaIds.clone(), deleted.clone(), hashes.clone());
+        }
+    }
+
+    /**
+     * Accumulates one subject's rows (arriving in version order) during a full load.
+     */
+    private static final class EntryBuilder {
+        final String subject;
+        int[] versions = new int[4];
+        int[] schemaIds = new int[4];
+        boolean[] deleted = new boolean[4];
+        Md5Hash[] hashes = new Md5Hash[4];
+        int size;
+
+        EntryBuilder(String subject) {
+            this.subject = subject;
+        }
+
+        void add(int version, int schemaId, boolean isDeleted, Md5Hash hash) {
+            if (size == versions.length) {
+                versions = Arrays.copyOf(versions, size * 2);
+                schemaIds = Arrays.copyOf(schemaIds, size * 2);
+                deleted = Arrays.copyOf(deleted, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            versions[size] = version;
+            schemaIds[size] = schemaId;
+            deleted[size] = isDeleted;
+            hashes[size] = hash;
+            size++;
+        }
+
+        Entry build() {
+            return new Entry(Arrays.copyOf(versions, size), Arrays.copyOf(schemaIds, size),
+                    Arrays.copyOf(deleted, size), Arrays.copyOf(hashes, size));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.confluent.schemaregistry.pg.infrastructure.config;
+
+import io.confluent.schemaregistry.pg.infrastructure.persistence.RoundTripCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource configuration.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wrap the pool so that database round trips are counted per thread, see
+     * {@link io.confluent.schemaregistry.pg.infrastructure.persistence.RoundTrips}. Off by default, since
+     * every connection and statement then goes through a reflective proxy.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "schema-registry.metrics.round-trips.enabled", havingValue = "true")
+    public static BeanPostProcessor roundTripCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RoundTripCountingDataSource)) {
+                    return new RoundTripCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
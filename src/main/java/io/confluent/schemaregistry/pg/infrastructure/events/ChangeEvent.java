@@ -0,0 +1,85 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import lombok.Value;
+
+/**
+ * Compact description of a committed write, broadcast to every node so in-process caches can follow it.
+ */
+@Value
+public class ChangeEvent {
+
+    public enum Type {
+        /**
+         * Global config (subject is null) or a subject-level config changed.
+         */
+        CONFIG_CHANGED,
+        /**
+         * A new version was registered under a subject.
+         */
+        VERSION_REGISTERED,
+        /**
+         * A single version was soft- or hard-deleted.
+         */
+        VERSION_DELETED,
+        /**
+         * All versions of a subject were soft- or hard-deleted.
+         */
+        SUBJECT_DELETED,
+        /**
+         * Bulk change; every cache should reload from the database.
+         */
+        RESYNC
+    }
+
+    Type type;
+
+    /**
+     * Affected subject, or null for global events.
+     */
+    SubjectName subject;
+
+    /**
+     * Affected version, or 0 when not applicable.
+     */
+    int version;
+
+    /**
+     * Affected schema ID, or 0 when not applicable.
+     */
+    int schemaId;
+
+    /**
+     * Whether a delete was permanent.
+     */
+    boolean permanent;
+
+    /**
+     * Hash of the registered schema, or null when not applicable.
+     */
+    Md5Hash schemaHash;
+
+    public static ChangeEvent configChanged(SubjectName subject) {
+        return new ChangeEvent(Type.CONFIG_CHANGED, subject, 0, 0, false, null);
+    }
+
+    public static ChangeEvent versionRegistered(SubjectVersion subjectVersion, Md5Hash schemaHash) {
+        return new ChangeEvent(Type.VERSION_REGISTERED, subjectVersion.getSubject(),
+                subjectVersion.getVersion().getValue(), subjectVersion.getSchemaId().getValue(), false, schemaHash);
+    }
+
+    public static ChangeEvent versionDeleted(SubjectName subject, Version version, boolean permanent) {
+        return new ChangeEvent(Type.VERSION_DELETED, subject, version.getValue(), 0, permanent, null);
+    }
+
+    public static ChangeEvent subjectDeleted(SubjectName subject, boolean permanent) {
+        return new ChangeEvent(Type.SUBJECT_DELETED, subject, 0, 0, permanent, null);
+    }
+
+    public static ChangeEvent resync() {
+        return new ChangeEvent(Type.RESYNC, null, 0, 0, false, null);
+    }
+}
@@ -0,0 +1,131 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Cross-node change notification over Postgres LISTEN/NOTIFY.
+ * <p>
+ * Events are published with {@code pg_notify} on the writer's connection, so Postgres delivers them to
+ * other nodes only if the transaction commits. The publishing node applies its own events locally after
+ * commit and ignores its own notifications when they come back through {@link ChangeEventListener}.
+ */
+@Component
+public class ChangeEventBus {
+
+    public static final String CHANNEL = "schema_registry_changes";
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+    private static final String SEPARATOR = "|";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectProvider<ChangeEventHandler> handlers;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChangeEventBus(JdbcTemplate jdbc, ObjectProvider<ChangeEventHandler> handlers) {
+        this.jdbc = jdbc;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Publish a change to every node. Inside a transaction, delivery (local and remote) happens on commit.
+     */
+    public void publish(ChangeEvent event) {
+        jdbc.queryForList("SELECT pg_notify(?, ?)", CHANNEL, encode(event));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Handle a raw notification payload received from Postgres.
+     */
+    void onNotification(String payload) {
+        String[] parts = payload.split("\\|", 7);
+        if (parts.length != 7) {
+            log.warn("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return; // Already applied locally on commit
+        }
+
+        ChangeEvent event;
+        try {
+            event = new ChangeEvent(
+                    ChangeEvent.Type.valueOf(parts[1]),
+                    parts[6].isEmpty() ? null : SubjectName.of(parts[6]),
+                    Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]),
+                    "1".equals(parts[4]),
+                    parts[5].isEmpty() ? null : Md5Hash.of(parts[5])
+            );
+        } catch (IllegalArgumentException e) {
+            // E.g. an event type from a newer node; skip it rather than fail the listener into a full resync
+            log.warn("Ignoring unparseable change notification: {}", payload, e);
+            return;
+        }
+        dispatch(event);
+    }
+
+    /**
+     * Ask every handler to reload from the database, e.g. after notifications may have been missed.
+     */
+    public void resyncAll() {
+        handlers.orderedStream().forEach(this::resync);
+    }
+
+    private void dispatch(ChangeEvent event) {
+        if (event.getType() == ChangeEvent.Type.RESYNC) {
+            resyncAll();
+            return;
+        }
+        handlers.orderedStream().forEach(handler -> {
+            try {
+                handler.onChange(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} to {}, resyncing it", event, handler.getClass().getSimpleName(), e);
+                resync(handler);
+            }
+        });
+    }
+
+    private void resync(ChangeEventHandler handler) {
+        try {
+            handler.resync();
+        } catch (RuntimeException e) {
+            log.error("Resync failed for {}", handler.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Payload layout: {@code nodeId|TYPE|version|schemaId|permanent|schemaHash|subject}. The subject goes last
+     * because it may itself contain the separator.
+     */
+    private String encode(ChangeEvent event) {
+        return nodeId + SEPARATOR
+                + event.getType().name() + SEPARATOR
+                + event.getVersion() + SEPARATOR
+                + event.getSchemaId() + SEPARATOR
+                + (event.isPermanent() ? "1" : "0") + SEPARATOR
+                + (event.getSchemaHash() != null ? event.getSchemaHash().getValue() : "") + SEPARATOR
+                + (event.getSubject() != null ? event.getSubject().getValue() : "");
+    }
+}
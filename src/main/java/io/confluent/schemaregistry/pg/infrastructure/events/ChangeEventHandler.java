@@ -0,0 +1,17 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+/**
+ * In-process state that follows committed writes published on the {@link ChangeEventBus}.
+ */
+public interface ChangeEventHandler {
+
+    /**
+     * Apply a single committed change. Called once per event, for local and remote writes alike.
+     */
+    void onChange(ChangeEvent event);
+
+    /**
+     * Discard everything and reload from the database. Called after events may have been missed.
+     */
+    void resync();
+}
@@ -0,0 +1,131 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens for change notifications from other nodes on a dedicated Postgres connection,
+ * outside the connection pool. Every time LISTEN succeeds, including the first, it asks every
+ * handler for a full resync, since notifications sent before it was listening are lost: at
+ * startup, those committed between a cache's initial load and LISTEN; after a reconnect, those
+ * sent while disconnected.
+ */
+@Component
+public class ChangeEventListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventListener.class);
+
+    private final ChangeEventBus bus;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private final long reconnectBackoffMs;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public ChangeEventListener(ChangeEventBus bus,
+                               DataSourceProperties dataSourceProperties,
+                               @Value("${schema-registry.events.listener.enabled:true}") boolean enabled,
+                               @Value("${schema-registry.events.listener.poll-timeout-ms:1000}") int pollTimeoutMs,
+                               @Value("${schema-registry.events.listener.reconnect-backoff-ms:5000}") long reconnectBackoffMs) {
+        this.bus = bus;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Change event listener disabled; caches will not follow writes from other nodes");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "change-event-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + ChangeEventBus.CHANNEL);
+                }
+                log.info("Listening for change events on channel {}, resyncing caches", ChangeEventBus.CHANNEL);
+                bus.resyncAll();
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        bus.onNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Change event listener connection lost, reconnecting in {} ms: {}",
+                        reconnectBackoffMs, e.getMessage());
+                sleep(reconnectBackoffMs);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            log.debug("Error closing change event listener connection", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.confluent.schemaregistry.pg.infrastructure.locking;
+
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks serializing writers of the same subject on this node.
+ * <p>
+ * Waiting here rather than on the database advisory lock keeps contending requests from piling up
+ * lock waits in Postgres. A single write should take its lock with {@link #callLocked} before its
+ * transaction starts, so a waiter holds no pooled connection. Transactions writing several subjects
+ * lock each with {@link #lockUntilCompletion}, held until the transaction completes. Locks are
+ * reentrant, so one transaction may register several versions of the same subject. A transaction
+ * locking several subjects must take them in ascending {@link #stripeOf stripe} order: subjects sharing
+ * a stripe share a lock, so ordering by subject name alone can still take two stripes in opposite orders.
+ * Acquisition times out as a backstop.
+ */
+@Component
+public class SubjectLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public SubjectLocks(@Value("${schema-registry.registration.lock-stripes:64}") int stripeCount,
+                        @Value("${schema-registry.registration.lock-timeout-ms:10000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Index of the stripe guarding a subject.
+     */
+    public int stripeOf(SubjectName subject) {
+        return Math.floorMod(subject.getValue().hashCode(), stripes.length);
+    }
+
+    /**
+     * Run an action holding the subject's stripe. Call this outside any transaction and start the
+     * transaction inside the action, so the commit happens before the lock is released.
+     */
+    public <T> T callLocked(SubjectName subject, Supplier<T> action) {
+        ReentrantLock lock = lock(subject);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lock the subject's stripe until the current transaction commits or rolls back.
+     */
+    public void lockUntilCompletion(SubjectName subject) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Subject locks must be taken inside a transaction");
+        }
+
+        ReentrantLock lock = lock(subject);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private ReentrantLock lock(SubjectName subject) {
+        ReentrantLock lock = stripes[stripeOf(subject)];
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + timeoutMs
+                        + " ms waiting for a concurrent write to subject " + subject.getValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for lock on subject " + subject.getValue(), e);
+        }
+        return lock;
+    }
+}
@@ -0,0 +1,25 @@
+package io.confluent.schemaregistry.pg.infrastructure.persistence;
+
+/**
+ * Helpers for interpreting JDBC batch update counts.
+ */
+final class BatchCounts {
+
+    private BatchCounts() {
+    }
+
+    /**
+     * Rows affected across all batches; statements the driver reports without a count are ignored.
+     */
+    static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+}
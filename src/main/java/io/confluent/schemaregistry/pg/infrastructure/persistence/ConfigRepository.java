@@ -5,6 +5,8 @@ import io.confluent.schemaregistry.pg.domain.model.SubjectConfig;
 import io.confluent.schemaregistry.pg.domain.value.CompatibilityLevel;
 import io.confluent.schemaregistry.pg.domain.value.Mode;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEventBus;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -16,9 +18,11 @@ import java.util.Optional;
 public class ConfigRepository {
 
     private final JdbcTemplate jdbc;
+    private final ChangeEventBus changeEventBus;
 
-    public ConfigRepository(JdbcTemplate jdbc) {
+    public ConfigRepository(JdbcTemplate jdbc, ChangeEventBus changeEventBus) {
         this.jdbc = jdbc;
+        this.changeEventBus = changeEventBus;
     }
 
     private final RowMapper<GlobalConfig> globalConfigMapper = (rs, rowNum) -> GlobalConfig.builder()
@@ -72,6 +76,7 @@ public class ConfigRepository {
                 config.getMode().name(),
                 config.getCompatibilityGroup()
         );
+        changeEventBus.publish(ChangeEvent.configChanged(null));
     }
 
     public Optional<SubjectConfig> findSubjectConfig(SubjectName subject) {
@@ -80,6 +85,20 @@ public class ConfigRepository {
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    public List<SubjectConfig> findAllSubjectConfigs() {
+        String sql = "SELECT * FROM subject_config";
+        return jdbc.query(sql, subjectConfigMapper);
+    }
+
+    /**
+     * Current value of the config change counter, bumped by triggers on every config write.
+     */
+    public long getConfigVersion() {
+        String sql = "SELECT version FROM config_version WHERE id = 1";
+        List<Long> results = jdbc.queryForList(sql, Long.class);
+        return results.isEmpty() ? 0L : results.get(0);
+    }
+
     public void saveSubjectConfig(SubjectConfig config) {
         String sql = """
                 INSERT INTO subject_config (subject, compatibility, compatibility_group, mode, alias, normalize, updated_at)
@@ -101,11 +120,13 @@ public class ConfigRepository {
                 config.getAlias(),
                 config.isNormalize()
         );
+        changeEventBus.publish(ChangeEvent.configChanged(config.getSubject()));
     }
 
     public void deleteSubjectConfig(SubjectName subject) {
         String sql = "DELETE FROM subject_config WHERE subject = ?";
         jdbc.update(sql, subject.getValue());
+        changeEventBus.publish(ChangeEvent.configChanged(subject));
     }
 
     public CompatibilityLevel getEffectiveCompatibility(SubjectName subject) {
@@ -0,0 +1,77 @@
+package io.confluent.schemaregistry.pg.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the round trips each thread makes to the database, see {@link RoundTrips}.
+ * <p>
+ * Every statement execution and every commit or rollback counts as one round trip. Fetching further
+ * rows of a cursor is not counted.
+ */
+public class RoundTripCountingDataSource extends DelegatingDataSource {
+
+    public RoundTripCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                RoundTripCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("commit") || name.equals("rollback")) {
+                        RoundTrips.increment();
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return countingStatement(statement, CallableStatement.class);
+                    } else if (result instanceof PreparedStatement statement) {
+                        return countingStatement(statement, PreparedStatement.class);
+                    } else if (result instanceof Statement statement) {
+                        return countingStatement(statement, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private static <T extends Statement> T countingStatement(T statement, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                RoundTrips.increment();
+            }
+            return invoke(statement, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(
+                RoundTripCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
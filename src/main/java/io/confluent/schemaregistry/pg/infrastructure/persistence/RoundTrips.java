@@ -0,0 +1,26 @@
+package io.confluent.schemaregistry.pg.infrastructure.persistence;
+
+/**
+ * Per-thread count of database round trips made through {@link RoundTripCountingDataSource}.
+ * <p>
+ * The count only grows; callers measure an operation by taking the difference between two reads on
+ * the same thread.
+ */
+public final class RoundTrips {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private RoundTrips() {
+    }
+
+    /**
+     * Round trips made by the current thread so far.
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+}
@@ -5,14 +5,22 @@ import io.confluent.schemaregistry.pg.domain.value.SchemaId;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import io.confluent.schemaregistry.pg.domain.value.Version;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class SchemaReferenceRepository {
 
+    private static final int STREAM_FETCH_SIZE = 10_000;
+
     private final JdbcTemplate jdbc;
 
     public SchemaReferenceRepository(JdbcTemplate jdbc) {
@@ -30,6 +38,78 @@ public class SchemaReferenceRepository {
         return jdbc.query(sql, rowMapper, schemaId.getValue());
     }
 
+    /**
+     * References of many schemas in one query, grouped by schema ID. Schemas without references are absent.
+     */
+    public Map<SchemaId, List<SchemaReference>> findBySchemaIds(Collection<SchemaId> schemaIds) {
+        if (schemaIds.isEmpty()) {
+            return Map.of();
+        }
+        Integer[] ids = schemaIds.stream().map(SchemaId::getValue).toArray(Integer[]::new);
+        String sql = "SELECT * FROM schema_references WHERE schema_id = ANY(?) ORDER BY schema_id, name";
+
+        Map<SchemaId, List<SchemaReference>> result = new HashMap<>();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("integer", ids));
+            return ps;
+        }, (RowCallbackHandler) rs -> result
+                .computeIfAbsent(SchemaId.of(rs.getInt("schema_id")), id -> new ArrayList<>())
+                .add(rowMapper.mapRow(rs, 0)));
+        return result;
+    }
+
+    /**
+     * Stream every reference row ordered by schema ID and name.
+     * Call inside a transaction so the driver fetches through a cursor.
+     */
+    public void forEachReference(RowCallbackHandler handler) {
+        String sql = "SELECT schema_id, name, subject, version FROM schema_references ORDER BY schema_id, name";
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * IDs of the schemas whose references would break if the subject-version were deleted, read from the
+     * committed references rather than the in-memory index. Same rules as the index: a referencing schema
+     * blocks while a non-deleted subject-version uses it, or any subject-version when the delete is
+     * permanent; references to "latest" block only when the version is the subject's last live one.
+     */
+    public int[] findBlockingDelete(SubjectName subject, Version version, boolean permanent) {
+        String sql = """
+                SELECT DISTINCT r.schema_id FROM schema_references r
+                WHERE r.subject = ?
+                  AND (r.version = ?
+                       OR (r.version = -1 AND ARRAY(SELECT sv.version FROM subject_versions sv
+                                                    WHERE sv.subject = r.subject AND sv.deleted = false)
+                                              = ARRAY[?]::INTEGER[]))
+                  AND EXISTS (SELECT 1 FROM subject_versions u
+                              WHERE u.schema_id = r.schema_id AND (? OR u.deleted = false))
+                ORDER BY r.schema_id
+                """;
+        return jdbc.queryForList(sql, Integer.class, subject.getValue(), version.getValue(), version.getValue(),
+                permanent).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Like {@link #findBlockingDelete(SubjectName, Version, boolean)} for every version of a subject at
+     * once. References from versions of the subject itself do not count, since they go with it.
+     */
+    public int[] findBlockingDelete(SubjectName subject, boolean permanent) {
+        String sql = """
+                SELECT DISTINCT r.schema_id FROM schema_references r
+                WHERE r.subject = ?
+                  AND EXISTS (SELECT 1 FROM subject_versions u
+                              WHERE u.schema_id = r.schema_id AND (? OR u.deleted = false) AND u.subject <> r.subject)
+                ORDER BY r.schema_id
+                """;
+        return jdbc.queryForList(sql, Integer.class, subject.getValue(), permanent).stream()
+                .mapToInt(Integer::intValue).toArray();
+    }
+
     public void saveAll(SchemaId schemaId, List<SchemaReference> references) {
         if (references == null || references.isEmpty()) {
             return;
@@ -45,8 +125,199 @@ public class SchemaReferenceRepository {
         });
     }
 
-    public List<Integer> findSchemaIdsReferencingSubjectVersion(SubjectName subject, Version version) {
-        String sql = "SELECT DISTINCT schema_id FROM schema_references WHERE subject = ? AND version = ? ORDER BY schema_id";
-        return jdbc.queryForList(sql, Integer.class, subject.getValue(), version.getValue());
+    /**
+     * Insert references of many schemas in one JDBC batch, skipping any that already exist.
+     *
+     * @return number of references actually inserted
+     */
+    public int insertAllIgnoringConflicts(Map<SchemaId, List<SchemaReference>> referencesBySchema) {
+        List<Map.Entry<SchemaId, SchemaReference>> rows = new ArrayList<>();
+        referencesBySchema.forEach((schemaId, references) ->
+                references.forEach(reference -> rows.add(Map.entry(schemaId, reference))));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "INSERT INTO schema_references (schema_id, name, subject, version) VALUES (?, ?, ?, ?) " +
+                     "ON CONFLICT DO NOTHING";
+
+        int[][] counts = jdbc.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.getKey().getValue());
+            ps.setString(2, row.getValue().getName());
+            ps.setString(3, row.getValue().getSubject().getValue());
+            ps.setInt(4, row.getValue().getVersion().getValue());
+        });
+        return BatchCounts.sum(counts);
+    }
+
+    /**
+     * Of the given references, those whose (schema ID, name) is already stored pointing at another
+     * subject or version, as (schema ID, name) pairs.
+     */
+    public List<Map.Entry<SchemaId, String>> findConflicts(Map<SchemaId, List<SchemaReference>> referencesBySchema) {
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> subjects = new ArrayList<>();
+        List<Integer> versions = new ArrayList<>();
+        referencesBySchema.forEach((schemaId, references) -> references.forEach(reference -> {
+            ids.add(schemaId.getValue());
+            names.add(reference.getName());
+            subjects.add(reference.getSubject().getValue());
+            versions.add(reference.getVersion().getValue());
+        }));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT r.schema_id, r.name
+                FROM unnest(?::INTEGER[], ?::TEXT[], ?::TEXT[], ?::INTEGER[]) AS r(schema_id, name, subject, version)
+                JOIN schema_references sr ON sr.schema_id = r.schema_id AND sr.name = r.name
+                WHERE sr.subject <> r.subject OR sr.version <> r.version
+                ORDER BY r.schema_id, r.name
+                """;
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("integer", ids.toArray()));
+            ps.setArray(2, con.createArrayOf("text", names.toArray()));
+            ps.setArray(3, con.createArrayOf("text", subjects.toArray()));
+            ps.setArray(4, con.createArrayOf("integer", versions.toArray()));
+            return ps;
+        }, (rs, rowNum) -> Map.entry(SchemaId.of(rs.getInt("schema_id")), rs.getString("name")));
+    }
+
+    /**
+     * One edge of a reference closure: the parent schema (null for a root reference) refers to a subject
+     * at the requested version (-1 for latest), which resolved to the given version and schema.
+     */
+    public record ClosureEdge(SchemaId parentSchemaId, SubjectName subject, int requestedVersion, int version,
+                              SchemaId schemaId, String schemaText) {
+    }
+
+    /**
+     * Load the transitive closure of the given references in one recursive query: every edge reachable
+     * from them, with the referenced schema's text. "Latest" resolves to the newest non-deleted version.
+     * References that do not resolve produce no edge. Terminates on cycles, since repeated edges are
+     * discarded.
+     */
+    public List<ClosureEdge> findClosure(Collection<SchemaReference> roots) {
+        String sql = """
+                WITH RECURSIVE edges (parent_schema_id, subject, requested_version, version, schema_id) AS (
+                    SELECT NULL::INTEGER, r.subject, r.version, v.version, v.schema_id
+                    FROM unnest(?::TEXT[], ?::INTEGER[]) AS r(subject, version)
+                    JOIN LATERAL (
+                        SELECT sv.version, sv.schema_id FROM subject_versions sv
+                        WHERE sv.subject = r.subject
+                          AND (sv.version = r.version OR (r.version = -1 AND sv.deleted = false))
+                        ORDER BY sv.version DESC LIMIT 1
+                    ) v ON TRUE
+                  UNION
+                    SELECT e.schema_id, r.subject, r.version, v.version, v.schema_id
+                    FROM edges e
+                    JOIN schema_references r ON r.schema_id = e.schema_id
+                    JOIN LATERAL (
+                        SELECT sv.version, sv.schema_id FROM subject_versions sv
+                        WHERE sv.subject = r.subject
+                          AND (sv.version = r.version OR (r.version = -1 AND sv.deleted = false))
+                        ORDER BY sv.version DESC LIMIT 1
+                    ) v ON TRUE
+                )
+                SELECT e.parent_schema_id, e.subject, e.requested_version, e.version, e.schema_id, s.schema_text
+                FROM edges e
+                JOIN schemas s ON s.id = e.schema_id
+                """;
+        String[] subjects = roots.stream().map(r -> r.getSubject().getValue()).toArray(String[]::new);
+        Integer[] versions = roots.stream().map(r -> r.getVersion().getValue()).toArray(Integer[]::new);
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", subjects));
+            ps.setArray(2, con.createArrayOf("integer", versions));
+            return ps;
+        }, (rs, rowNum) -> {
+            Integer parent = rs.getObject("parent_schema_id", Integer.class);
+            return new ClosureEdge(
+                    parent != null ? SchemaId.of(parent) : null,
+                    SubjectName.of(rs.getString("subject")),
+                    rs.getInt("requested_version"),
+                    rs.getInt("version"),
+                    SchemaId.of(rs.getInt("schema_id")),
+                    rs.getString("schema_text"));
+        });
+    }
+
+    /**
+     * One row of a reference graph. Root rows carry the 0-based position of the reference they resolve
+     * and no parent; their version and schema ID are null when the reference does not resolve. Other rows
+     * are edges from a stored schema to the subject-version one of its references resolved to.
+     */
+    public record GraphEdge(Integer position, SchemaId parentSchemaId, SubjectName subject, int requestedVersion,
+                            Integer version, SchemaId schemaId) {
+    }
+
+    /**
+     * Resolve the given references and load every edge reachable from them in one recursive query,
+     * without schema texts. "Latest" resolves to the newest non-deleted version. Every reference gets a
+     * root row, resolved or not. Terminates on cycles, since repeated edges are discarded.
+     */
+    public List<GraphEdge> findGraph(List<SchemaReference> roots) {
+        String sql = """
+                WITH RECURSIVE resolved_roots AS (
+                    SELECT r.position, r.subject, r.version AS requested_version, v.version, v.schema_id
+                    FROM unnest(?::TEXT[], ?::INTEGER[]) WITH ORDINALITY AS r(subject, version, position)
+                    LEFT JOIN LATERAL (
+                        SELECT sv.version, sv.schema_id FROM subject_versions sv
+                        WHERE sv.subject = r.subject
+                          AND (sv.version = r.version OR (r.version = -1 AND sv.deleted = false))
+                        ORDER BY sv.version DESC LIMIT 1
+                    ) v ON TRUE
+                ),
+                edges (parent_schema_id, subject, requested_version, version, schema_id) AS (
+                    SELECT DISTINCT rr.schema_id, r.subject, r.version, v.version, v.schema_id
+                    FROM resolved_roots rr
+                    JOIN schema_references r ON r.schema_id = rr.schema_id
+                    JOIN LATERAL (
+                        SELECT sv.version, sv.schema_id FROM subject_versions sv
+                        WHERE sv.subject = r.subject
+                          AND (sv.version = r.version OR (r.version = -1 AND sv.deleted = false))
+                        ORDER BY sv.version DESC LIMIT 1
+                    ) v ON TRUE
+                  UNION
+                    SELECT e.schema_id, r.subject, r.version, v.version, v.schema_id
+                    FROM edges e
+                    JOIN schema_references r ON r.schema_id = e.schema_id
+                    JOIN LATERAL (
+                        SELECT sv.version, sv.schema_id FROM subject_versions sv
+                        WHERE sv.subject = r.subject
+                          AND (sv.version = r.version OR (r.version = -1 AND sv.deleted = false))
+                        ORDER BY sv.version DESC LIMIT 1
+                    ) v ON TRUE
+                )
+                SELECT (position - 1)::INTEGER AS position, NULL::INTEGER AS parent_schema_id,
+                       subject, requested_version, version, schema_id
+                FROM resolved_roots
+                UNION ALL
+                SELECT NULL, parent_schema_id, subject, requested_version, version, schema_id
+                FROM edges
+                """;
+        String[] subjects = roots.stream().map(r -> r.getSubject().getValue()).toArray(String[]::new);
+        Integer[] versions = roots.stream().map(r -> r.getVersion().getValue()).toArray(Integer[]::new);
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", subjects));
+            ps.setArray(2, con.createArrayOf("integer", versions));
+            return ps;
+        }, (rs, rowNum) -> {
+            Integer parent = rs.getObject("parent_schema_id", Integer.class);
+            Integer schemaId = rs.getObject("schema_id", Integer.class);
+            return new GraphEdge(
+                    rs.getObject("position", Integer.class),
+                    parent != null ? SchemaId.of(parent) : null,
+                    SubjectName.of(rs.getString("subject")),
+                    rs.getInt("requested_version"),
+                    rs.getObject("version", Integer.class),
+                    schemaId != null ? SchemaId.of(schemaId) : null);
+        });
     }
 }
@@ -4,7 +4,9 @@ import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
 import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
 import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -13,12 +15,21 @@ import org.springframework.stereotype.Repository;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public class SchemaRepository {
 
+    /**
+     * Rows per cursor fetch when streaming schemas. Kept small because each row carries a full schema
+     * text, which can run to megabytes; the narrow index rows of other streams use far larger fetches.
+     */
+    private static final int STREAM_FETCH_SIZE = 200;
+
     private final JdbcTemplate jdbc;
 
     public SchemaRepository(JdbcTemplate jdbc) {
@@ -29,7 +40,8 @@ public class SchemaRepository {
             .id(SchemaId.of(rs.getInt("id")))
             .schemaText(rs.getString("schema_text"))
             .schemaType(SchemaType.from(rs.getString("schema_type")))
-            .md5Hash(Md5Hash.of(rs.getString("md5_hash")))
+            .md5Hash(Md5Hash.of(rs.getObject("md5_hash", UUID.class)))
+            .canonicalFingerprint(rs.getObject("canonical_fingerprint", Long.class))
             .createdAt(rs.getTimestamp("created_at").toInstant())
             .build();
 
@@ -41,21 +53,36 @@ public class SchemaRepository {
 
     public Optional<SchemaEntity> findByHash(Md5Hash hash) {
         String sql = "SELECT * FROM schemas WHERE md5_hash = ?";
-        List<SchemaEntity> results = jdbc.query(sql, rowMapper, hash.getValue());
+        List<SchemaEntity> results = jdbc.query(sql, rowMapper, hash.toUuid());
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    /**
+     * Schemas of the non-deleted versions of a subject up to maxVersion, newest version first, in a single query.
+     * With latestOnly, only the schema of the newest matching version is returned.
+     */
+    public List<SchemaEntity> findBySubject(SubjectName subject, int maxVersion, boolean latestOnly) {
+        String sql = """
+                SELECT s.* FROM subject_versions sv
+                JOIN schemas s ON s.id = sv.schema_id
+                WHERE sv.subject = ? AND sv.version <= ? AND sv.deleted = false
+                ORDER BY sv.version DESC
+                """ + (latestOnly ? "LIMIT 1" : "");
+        return jdbc.query(sql, rowMapper, subject.getValue(), maxVersion);
+    }
+
     public SchemaEntity save(SchemaEntity schema) {
-        String sql = "INSERT INTO schemas (schema_text, schema_type, md5_hash, created_at) " +
-                     "VALUES (?, ?, ?, ?) RETURNING id";
+        String sql = "INSERT INTO schemas (schema_text, schema_type, md5_hash, canonical_fingerprint, created_at) " +
+                     "VALUES (?, ?, ?, ?, ?) RETURNING id";
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
         jdbc.update(connection -> {
             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setString(1, schema.getSchemaText());
             ps.setString(2, schema.getSchemaType().name());
-            ps.setString(3, schema.getMd5Hash().getValue());
-            ps.setTimestamp(4, Timestamp.from(schema.getCreatedAt()));
+            ps.setObject(3, schema.getMd5Hash().toUuid());
+            ps.setObject(4, schema.getCanonicalFingerprint(), Types.BIGINT);
+            ps.setTimestamp(5, Timestamp.from(schema.getCreatedAt()));
             return ps;
         }, keyHolder);
 
@@ -68,23 +95,135 @@ public class SchemaRepository {
     }
 
     public SchemaEntity saveWithId(SchemaEntity schema, int explicitId) {
-        String sql = "INSERT INTO schemas (id, schema_text, schema_type, md5_hash, created_at) " +
-                     "VALUES (?, ?, ?, ?, ?) " +
+        String sql = "INSERT INTO schemas (id, schema_text, schema_type, md5_hash, canonical_fingerprint, created_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?) " +
                      "ON CONFLICT (md5_hash) DO UPDATE SET id = EXCLUDED.id RETURNING id";
 
         Integer savedId = jdbc.queryForObject(sql, Integer.class,
                 explicitId,
                 schema.getSchemaText(),
                 schema.getSchemaType().name(),
-                schema.getMd5Hash().getValue(),
+                schema.getMd5Hash().toUuid(),
+                schema.getCanonicalFingerprint(),
                 Timestamp.from(schema.getCreatedAt())
         );
 
         return schema.withId(SchemaId.of(savedId));
     }
 
-    public List<SchemaId> findAllIds(int limit, int offset) {
-        String sql = "SELECT id FROM schemas ORDER BY id LIMIT ? OFFSET ?";
-        return jdbc.query(sql, (rs, rowNum) -> SchemaId.of(rs.getInt("id")), limit, offset);
+    /**
+     * Insert schemas with their given IDs in one JDBC batch, skipping any whose ID or hash already exists.
+     *
+     * @return number of schemas actually inserted
+     */
+    public int insertAllIgnoringConflicts(Collection<SchemaEntity> schemas) {
+        if (schemas.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO schemas (id, schema_text, schema_type, md5_hash, canonical_fingerprint, created_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+        int[][] counts = jdbc.batchUpdate(sql, schemas, schemas.size(), (ps, schema) -> {
+            ps.setInt(1, schema.getId().getValue());
+            ps.setString(2, schema.getSchemaText());
+            ps.setString(3, schema.getSchemaType().name());
+            ps.setObject(4, schema.getMd5Hash().toUuid());
+            ps.setObject(5, schema.getCanonicalFingerprint(), Types.BIGINT);
+            ps.setTimestamp(6, Timestamp.from(schema.getCreatedAt()));
+        });
+        return BatchCounts.sum(counts);
+    }
+
+    /**
+     * Of the given schemas, those that clash with a stored row: their ID is taken by a schema with other
+     * content, or their content is stored under another ID. Rows that match exactly are not returned.
+     */
+    public List<SchemaId> findConflicts(Collection<SchemaEntity> schemas) {
+        if (schemas.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT DISTINCT r.id
+                FROM unnest(?::INTEGER[], ?::UUID[], ?::TEXT[]) AS r(id, md5_hash, schema_type)
+                JOIN schemas s ON s.id = r.id OR s.md5_hash = r.md5_hash
+                WHERE s.id <> r.id OR s.md5_hash <> r.md5_hash OR s.schema_type <> r.schema_type
+                ORDER BY r.id
+                """;
+        Integer[] ids = schemas.stream().map(schema -> schema.getId().getValue()).toArray(Integer[]::new);
+        UUID[] hashes = schemas.stream().map(schema -> schema.getMd5Hash().toUuid()).toArray(UUID[]::new);
+        String[] types = schemas.stream().map(schema -> schema.getSchemaType().name()).toArray(String[]::new);
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("integer", ids));
+            ps.setArray(2, con.createArrayOf("uuid", hashes));
+            ps.setArray(3, con.createArrayOf("text", types));
+            return ps;
+        }, (rs, rowNum) -> SchemaId.of(rs.getInt("id")));
+    }
+
+    /**
+     * Move the schema ID sequence past the highest ID in use, e.g. after inserting explicit IDs.
+     */
+    public void resetIdSequence() {
+        String sql = "SELECT setval(pg_get_serial_sequence('schemas', 'id'), COALESCE((SELECT MAX(id) FROM schemas), 0) + 1, false)";
+        jdbc.queryForList(sql);
+    }
+
+    /**
+     * Stream every schema row (id, schema_text, schema_type) in ID order without materializing entities.
+     * Call inside a transaction so the driver fetches through a cursor.
+     */
+    public void forEachSchema(RowCallbackHandler handler) {
+        String sql = "SELECT id, schema_text, schema_type FROM schemas ORDER BY id";
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * IDs of schemas after afterId in ID order, using the primary key instead of a deep OFFSET scan.
+     * See {@link #findPage} for the filters.
+     */
+    public List<SchemaId> findIdsPage(String subjectPrefix, boolean includeDeleted, int afterId, int limit, int offset) {
+        String sql = pageQuery("s.id", subjectPrefix, includeDeleted);
+        return jdbc.query(sql, (rs, rowNum) -> SchemaId.of(rs.getInt("id")),
+                pageArgs(subjectPrefix, includeDeleted, afterId, limit, offset));
+    }
+
+    /**
+     * Schemas after afterId in ID order. With a subject prefix, only schemas registered under a matching
+     * subject are returned; unless includeDeleted, only schemas with at least one non-deleted version.
+     */
+    public List<SchemaEntity> findPage(String subjectPrefix, boolean includeDeleted, int afterId, int limit, int offset) {
+        String sql = pageQuery("s.*", subjectPrefix, includeDeleted);
+        return jdbc.query(sql, rowMapper, pageArgs(subjectPrefix, includeDeleted, afterId, limit, offset));
+    }
+
+    private static String pageQuery(String columns, String subjectPrefix, boolean includeDeleted) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM schemas s WHERE s.id > ?");
+        if (subjectPrefix != null || !includeDeleted) {
+            sql.append(" AND EXISTS (SELECT 1 FROM subject_versions sv WHERE sv.schema_id = s.id");
+            if (!includeDeleted) {
+                sql.append(" AND sv.deleted = false");
+            }
+            if (subjectPrefix != null) {
+                sql.append(" AND sv.subject LIKE ? ESCAPE '\\'");
+            }
+            sql.append(")");
+        }
+        return sql.append(" ORDER BY s.id LIMIT ? OFFSET ?").toString();
+    }
+
+    private static Object[] pageArgs(String subjectPrefix, boolean includeDeleted, int afterId, int limit, int offset) {
+        return subjectPrefix != null
+                ? new Object[]{afterId, escapeLike(subjectPrefix) + "%", limit, offset}
+                : new Object[]{afterId, limit, offset};
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
@@ -0,0 +1,40 @@
+package io.confluent.schemaregistry.pg.infrastructure.persistence;
+
+import io.confluent.schemaregistry.pg.domain.model.SubjectSummary;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read access to the trigger-maintained subjects catalog.
+ */
+@Repository
+public class SubjectRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public SubjectRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    private final RowMapper<SubjectSummary> rowMapper = (rs, rowNum) -> SubjectSummary.builder()
+            .subject(SubjectName.of(rs.getString("subject")))
+            .liveVersions(rs.getInt("live_versions"))
+            .deletedVersions(rs.getInt("deleted_versions"))
+            .build();
+
+    public List<SubjectSummary> findAll() {
+        String sql = "SELECT subject, live_versions, deleted_versions FROM subjects";
+        return jdbc.query(sql, rowMapper);
+    }
+
+    public Optional<SubjectSummary> findBySubject(SubjectName subject) {
+        String sql = "SELECT subject, live_versions, deleted_versions FROM subjects WHERE subject = ?";
+        List<SubjectSummary> results = jdbc.query(sql, rowMapper, subject.getValue());
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+}
@@ -1,21 +1,34 @@
 package io.confluent.schemaregistry.pg.infrastructure.persistence;
 
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
 import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
 import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
 import io.confluent.schemaregistry.pg.domain.value.SchemaId;
 import io.confluent.schemaregistry.pg.domain.value.SubjectName;
 import io.confluent.schemaregistry.pg.domain.value.Version;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class SubjectVersionRepository {
 
+    private static final int STREAM_FETCH_SIZE = 10_000;
+
+    /**
+     * First key of the two-part advisory locks taken on subjects ("SR" in ASCII).
+     */
+    private static final int ADVISORY_LOCK_NAMESPACE = 0x5352;
+
     private final JdbcTemplate jdbc;
 
     public SubjectVersionRepository(JdbcTemplate jdbc) {
@@ -31,25 +44,6 @@ public class SubjectVersionRepository {
             .createdAt(rs.getTimestamp("created_at").toInstant())
             .build();
 
-    public List<String> findAllSubjects(boolean includeDeleted) {
-        String sql = includeDeleted
-                ? "SELECT DISTINCT subject FROM subject_versions ORDER BY subject"
-                : "SELECT DISTINCT subject FROM subject_versions WHERE deleted = false ORDER BY subject";
-        return jdbc.queryForList(sql, String.class);
-    }
-
-    public List<String> findSubjectsWithPrefix(String prefix, boolean includeDeleted) {
-        String sql = includeDeleted
-                ? "SELECT DISTINCT subject FROM subject_versions WHERE subject LIKE ? ORDER BY subject"
-                : "SELECT DISTINCT subject FROM subject_versions WHERE subject LIKE ? AND deleted = false ORDER BY subject";
-        return jdbc.queryForList(sql, String.class, prefix + "%");
-    }
-
-    public List<String> findDeletedSubjects() {
-        String sql = "SELECT DISTINCT subject FROM subject_versions WHERE deleted = true ORDER BY subject";
-        return jdbc.queryForList(sql, String.class);
-    }
-
     public List<Integer> findVersionsBySubject(SubjectName subject, boolean includeDeleted) {
         String sql = includeDeleted
                 ? "SELECT version FROM subject_versions WHERE subject = ? ORDER BY version"
@@ -57,6 +51,24 @@ public class SubjectVersionRepository {
         return jdbc.queryForList(sql, Integer.class, subject.getValue());
     }
 
+    /**
+     * Stream every subject-version row, with its schema's hash, ordered by subject and version, without
+     * materializing objects. Call inside a transaction so the driver fetches through a cursor.
+     */
+    public void forEachVersion(RowCallbackHandler handler) {
+        String sql = """
+                SELECT sv.subject, sv.version, sv.schema_id, sv.deleted, s.md5_hash
+                FROM subject_versions sv
+                JOIN schemas s ON s.id = sv.schema_id
+                ORDER BY sv.subject, sv.version
+                """;
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
     public Optional<SubjectVersion> findBySubjectAndVersion(SubjectName subject, Version version, boolean includeDeleted) {
         if (version.isLatest()) {
             return findLatestVersion(subject, includeDeleted);
@@ -77,6 +89,16 @@ public class SubjectVersionRepository {
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    /**
+     * Number of the subject's newest non-deleted version, or 0 if it has none. Any registration or delete
+     * of the newest version changes it, so it marks the history a compatibility check ran against.
+     */
+    public int findLatestLiveVersionNumber(SubjectName subject) {
+        String sql = "SELECT COALESCE(MAX(version), 0) FROM subject_versions WHERE subject = ? AND deleted = false";
+        Integer version = jdbc.queryForObject(sql, Integer.class, subject.getValue());
+        return version != null ? version : 0;
+    }
+
     public Optional<SubjectVersion> findBySubjectAndHash(SubjectName subject, Md5Hash hash) {
         String sql = """
                 SELECT sv.* FROM subject_versions sv
@@ -84,10 +106,24 @@ public class SubjectVersionRepository {
                 WHERE sv.subject = ? AND s.md5_hash = ? AND sv.deleted = false
                 ORDER BY sv.version DESC LIMIT 1
                 """;
-        List<SubjectVersion> results = jdbc.query(sql, rowMapper, subject.getValue(), hash.getValue());
+        List<SubjectVersion> results = jdbc.query(sql, rowMapper, subject.getValue(), hash.toUuid());
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    /**
+     * Versions of a subject whose schema has the given canonical fingerprint, newest first. These are
+     * only candidates for a normalized match and must be verified by the caller.
+     */
+    public List<SubjectVersion> findBySubjectAndCanonicalFingerprint(SubjectName subject, long fingerprint,
+                                                                     boolean includeDeleted) {
+        String sql = """
+                SELECT sv.* FROM subject_versions sv
+                JOIN schemas s ON sv.schema_id = s.id
+                WHERE sv.subject = ? AND s.canonical_fingerprint = ?
+                """ + (includeDeleted ? "" : "AND sv.deleted = false ") + "ORDER BY sv.version DESC";
+        return jdbc.query(sql, rowMapper, subject.getValue(), fingerprint);
+    }
+
     public SubjectVersion save(SubjectVersion subjectVersion) {
         String sql = "INSERT INTO subject_versions (subject, version, schema_id, deleted, created_at) " +
                      "VALUES (?, ?, ?, ?, ?) RETURNING id";
@@ -103,10 +139,144 @@ public class SubjectVersionRepository {
         return subjectVersion.withId(id);
     }
 
-    public int getNextVersion(SubjectName subject) {
-        String sql = "SELECT COALESCE(MAX(version), 0) + 1 FROM subject_versions WHERE subject = ?";
-        Integer nextVersion = jdbc.queryForObject(sql, Integer.class, subject.getValue());
-        return nextVersion != null ? nextVersion : 1;
+    /**
+     * Insert subject-versions in one JDBC batch, skipping any (subject, version) that already exists.
+     *
+     * @return number of subject-versions actually inserted
+     */
+    public int insertAllIgnoringConflicts(Collection<SubjectVersion> subjectVersions) {
+        if (subjectVersions.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO subject_versions (subject, version, schema_id, deleted, created_at) " +
+                     "VALUES (?, ?, ?, ?, ?) ON CONFLICT (subject, version) DO NOTHING";
+
+        int[][] counts = jdbc.batchUpdate(sql, subjectVersions, subjectVersions.size(), (ps, sv) -> {
+            ps.setString(1, sv.getSubject().getValue());
+            ps.setInt(2, sv.getVersion().getValue());
+            ps.setInt(3, sv.getSchemaId().getValue());
+            ps.setBoolean(4, sv.isDeleted());
+            ps.setTimestamp(5, Timestamp.from(sv.getCreatedAt()));
+        });
+        return BatchCounts.sum(counts);
+    }
+
+    /**
+     * Of the given subject-versions, those whose (subject, version) is already stored with another schema,
+     * as subject-versions without a schema ID.
+     */
+    public List<SubjectVersion> findConflicts(Collection<SubjectVersion> subjectVersions) {
+        if (subjectVersions.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT r.subject, r.version
+                FROM unnest(?::TEXT[], ?::INTEGER[], ?::INTEGER[]) AS r(subject, version, schema_id)
+                JOIN subject_versions sv ON sv.subject = r.subject AND sv.version = r.version
+                WHERE sv.schema_id <> r.schema_id
+                ORDER BY r.subject, r.version
+                """;
+        String[] subjects = subjectVersions.stream().map(sv -> sv.getSubject().getValue()).toArray(String[]::new);
+        Integer[] versions = subjectVersions.stream().map(sv -> sv.getVersion().getValue()).toArray(Integer[]::new);
+        Integer[] schemaIds = subjectVersions.stream().map(sv -> sv.getSchemaId().getValue()).toArray(Integer[]::new);
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", subjects));
+            ps.setArray(2, con.createArrayOf("integer", versions));
+            ps.setArray(3, con.createArrayOf("integer", schemaIds));
+            return ps;
+        }, (rs, rowNum) -> SubjectVersion.builder()
+                .subject(SubjectName.of(rs.getString("subject")))
+                .version(Version.of(rs.getInt("version")))
+                .build());
+    }
+
+    /**
+     * Take the transaction-scoped advisory lock for a subject, serializing writers across nodes.
+     * Keyed by a namespace plus the subject's hash, so unrelated advisory lock users are not affected.
+     */
+    public void lockSubject(SubjectName subject) {
+        String sql = "SELECT pg_advisory_xact_lock(?, hashtext(?))";
+        jdbc.queryForList(sql, ADVISORY_LOCK_NAMESPACE, subject.getValue());
+    }
+
+    /**
+     * Allocate the subject's next version from its catalog counter in one statement, creating the
+     * catalog row for a new subject. The row stays locked until the transaction ends.
+     */
+    public int allocateVersion(SubjectName subject) {
+        String sql = """
+                INSERT INTO subjects (subject, latest_version) VALUES (?, 1)
+                ON CONFLICT (subject) DO UPDATE SET latest_version = subjects.latest_version + 1
+                RETURNING latest_version
+                """;
+        Integer version = jdbc.queryForObject(sql, Integer.class, subject.getValue());
+        if (version == null) {
+            throw new IllegalStateException("Failed to allocate a version for subject " + subject.getValue());
+        }
+        return version;
+    }
+
+    /**
+     * Outcome of {@link #registerWithFunction}: whether a version was created, already existed, or was
+     * not written because the subject's latest live version changed since the caller checked it.
+     */
+    public enum FunctionOutcome { CREATED, EXISTING, STALE }
+
+    /**
+     * Result of {@link #registerWithFunction}. The version is null when the outcome is STALE.
+     */
+    public record FunctionRegistration(SchemaId schemaId, Version version, FunctionOutcome outcome) {
+    }
+
+    /**
+     * Register a schema under a subject in one round trip through the {@code register_schema_version}
+     * function: lock the subject, upsert the schema by hash, return an existing version or allocate and
+     * insert the next one.
+     *
+     * @param expectedLatest latest live version the caller checked compatibility against (0 for none),
+     *                       or null if no compatibility check applies
+     */
+    public FunctionRegistration registerWithFunction(SubjectName subject, SchemaEntity schema, Integer expectedLatest) {
+        String sql = "SELECT o_schema_id, o_version, o_outcome FROM register_schema_version(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<SchemaReference> references = schema.getReferences();
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setString(1, subject.getValue());
+            ps.setString(2, schema.getSchemaText());
+            ps.setString(3, schema.getSchemaType().name());
+            ps.setObject(4, schema.getMd5Hash().toUuid());
+            ps.setObject(5, schema.getCanonicalFingerprint(), Types.BIGINT);
+            if (references == null || references.isEmpty()) {
+                ps.setNull(6, Types.ARRAY);
+                ps.setNull(7, Types.ARRAY);
+                ps.setNull(8, Types.ARRAY);
+            } else {
+                ps.setArray(6, con.createArrayOf("text",
+                        references.stream().map(SchemaReference::getName).toArray()));
+                ps.setArray(7, con.createArrayOf("text",
+                        references.stream().map(r -> r.getSubject().getValue()).toArray()));
+                ps.setArray(8, con.createArrayOf("integer",
+                        references.stream().map(r -> r.getVersion().getValue()).toArray()));
+            }
+            if (expectedLatest == null) {
+                ps.setNull(9, Types.INTEGER);
+            } else {
+                ps.setInt(9, expectedLatest);
+            }
+            return ps;
+        }, rs -> {
+            if (!rs.next()) {
+                throw new IllegalStateException("register_schema_version returned no row for subject " + subject.getValue());
+            }
+            Integer version = rs.getObject("o_version", Integer.class);
+            return new FunctionRegistration(
+                    SchemaId.of(rs.getInt("o_schema_id")),
+                    version != null ? Version.of(version) : null,
+                    FunctionOutcome.valueOf(rs.getString("o_outcome")));
+        });
     }
 
     public void softDelete(SubjectName subject, Version version) {
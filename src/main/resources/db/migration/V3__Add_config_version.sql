@@ -0,0 +1,26 @@
+-- Config change counter.
+-- Bumped by triggers on every write to global_config or subject_config so that nodes
+-- holding an in-memory config snapshot can detect changes with a single-row read.
+CREATE TABLE config_version (
+    id INTEGER PRIMARY KEY DEFAULT 1,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT chk_config_version_single_row CHECK (id = 1)
+);
+
+INSERT INTO config_version (id, version) VALUES (1, 0);
+
+CREATE FUNCTION bump_config_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE config_version SET version = version + 1 WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_global_config_version
+    AFTER INSERT OR UPDATE OR DELETE ON global_config
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_config_version();
+
+CREATE TRIGGER trg_subject_config_version
+    AFTER INSERT OR UPDATE OR DELETE ON subject_config
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_config_version();
@@ -0,0 +1,49 @@
+-- Subject catalog.
+-- One row per subject with live and soft-deleted version counts, maintained by a row trigger on
+-- subject_versions so that listing subjects never scans or de-duplicates the version table.
+CREATE TABLE subjects (
+    subject VARCHAR(255) PRIMARY KEY,
+    live_versions INTEGER NOT NULL DEFAULT 0,
+    deleted_versions INTEGER NOT NULL DEFAULT 0,
+
+    CONSTRAINT chk_subjects_counts CHECK (live_versions >= 0 AND deleted_versions >= 0)
+);
+
+INSERT INTO subjects (subject, live_versions, deleted_versions)
+SELECT subject,
+       COUNT(*) FILTER (WHERE NOT deleted),
+       COUNT(*) FILTER (WHERE deleted)
+FROM subject_versions
+GROUP BY subject;
+
+CREATE FUNCTION maintain_subjects() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE subjects
+        SET live_versions = live_versions - CASE WHEN OLD.deleted THEN 0 ELSE 1 END,
+            deleted_versions = deleted_versions - CASE WHEN OLD.deleted THEN 1 ELSE 0 END
+        WHERE subject = OLD.subject;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO subjects (subject, live_versions, deleted_versions)
+        VALUES (NEW.subject,
+                CASE WHEN NEW.deleted THEN 0 ELSE 1 END,
+                CASE WHEN NEW.deleted THEN 1 ELSE 0 END)
+        ON CONFLICT (subject) DO UPDATE
+        SET live_versions = subjects.live_versions + EXCLUDED.live_versions,
+            deleted_versions = subjects.deleted_versions + EXCLUDED.deleted_versions;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM subjects
+        WHERE subject = OLD.subject AND live_versions = 0 AND deleted_versions = 0;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_subject_versions_subjects
+    AFTER INSERT OR DELETE OR UPDATE OF subject, deleted ON subject_versions
+    FOR EACH ROW EXECUTE FUNCTION maintain_subjects();
@@ -0,0 +1,7 @@
+-- Indexes for keyset listing of schemas filtered by subject prefix and deleted status.
+-- The per-schema EXISTS probe is answered from the schema_id index alone, and prefix
+-- matches (LIKE 'prefix%') can use a btree regardless of the database collation.
+DROP INDEX idx_subject_versions_schema_id;
+CREATE INDEX idx_subject_versions_schema_id ON subject_versions(schema_id) INCLUDE (deleted, subject);
+
+CREATE INDEX idx_subject_versions_subject_pattern ON subject_versions(subject text_pattern_ops);
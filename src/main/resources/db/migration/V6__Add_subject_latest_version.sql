@@ -0,0 +1,40 @@
+-- Per-subject version counter.
+-- Registration allocates the next version with a single upsert on the subject's catalog row instead of
+-- scanning subject_versions for MAX(version). The trigger also raises the counter for rows inserted
+-- directly (e.g. by bulk import), so allocated versions never collide with existing ones.
+ALTER TABLE subjects ADD COLUMN latest_version INTEGER NOT NULL DEFAULT 0;
+
+UPDATE subjects s
+SET latest_version = v.max_version
+FROM (SELECT subject, MAX(version) AS max_version FROM subject_versions GROUP BY subject) v
+WHERE s.subject = v.subject;
+
+CREATE OR REPLACE FUNCTION maintain_subjects() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE subjects
+        SET live_versions = live_versions - CASE WHEN OLD.deleted THEN 0 ELSE 1 END,
+            deleted_versions = deleted_versions - CASE WHEN OLD.deleted THEN 1 ELSE 0 END
+        WHERE subject = OLD.subject;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO subjects (subject, live_versions, deleted_versions, latest_version)
+        VALUES (NEW.subject,
+                CASE WHEN NEW.deleted THEN 0 ELSE 1 END,
+                CASE WHEN NEW.deleted THEN 1 ELSE 0 END,
+                NEW.version)
+        ON CONFLICT (subject) DO UPDATE
+        SET live_versions = subjects.live_versions + EXCLUDED.live_versions,
+            deleted_versions = subjects.deleted_versions + EXCLUDED.deleted_versions,
+            latest_version = GREATEST(subjects.latest_version, EXCLUDED.latest_version);
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM subjects
+        WHERE subject = OLD.subject AND live_versions = 0 AND deleted_versions = 0;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,78 @@
+-- Store schema hashes as the 16 digest bytes (uuid) instead of 32 hex characters, and add the 64-bit
+-- Rabin fingerprint of the Avro parsing canonical form for normalized lookups. The fingerprint is
+-- backfilled by V9.
+
+-- The function's hash parameter changes type, so it is dropped and recreated below
+DROP FUNCTION register_schema_version(VARCHAR, TEXT, VARCHAR, CHAR(32), TEXT[], TEXT[], INTEGER[], INTEGER);
+
+-- Duplicates the index behind the UNIQUE constraint; dropped before the rewrite rather than rebuilt
+DROP INDEX IF EXISTS idx_schemas_md5_hash;
+
+ALTER TABLE schemas ALTER COLUMN md5_hash TYPE UUID USING md5_hash::uuid;
+
+ALTER TABLE schemas ADD COLUMN canonical_fingerprint BIGINT;
+CREATE INDEX idx_schemas_canonical_fingerprint ON schemas (canonical_fingerprint);
+
+CREATE FUNCTION register_schema_version(
+    p_subject VARCHAR,
+    p_schema_text TEXT,
+    p_schema_type VARCHAR,
+    p_md5_hash UUID,
+    p_canonical_fingerprint BIGINT,
+    p_ref_names TEXT[],
+    p_ref_subjects TEXT[],
+    p_ref_versions INTEGER[],
+    p_expected_latest INTEGER
+) RETURNS TABLE (o_schema_id INTEGER, o_version INTEGER, o_outcome TEXT) AS $$
+DECLARE
+    v_schema_id INTEGER;
+    v_version INTEGER;
+    v_latest INTEGER;
+BEGIN
+    -- Same key as SubjectVersionRepository.lockSubject
+    PERFORM pg_advisory_xact_lock(21330, hashtext(p_subject));
+
+    INSERT INTO schemas (schema_text, schema_type, md5_hash, canonical_fingerprint)
+    VALUES (p_schema_text, p_schema_type, p_md5_hash, p_canonical_fingerprint)
+    ON CONFLICT (md5_hash) DO NOTHING
+    RETURNING id INTO v_schema_id;
+
+    IF v_schema_id IS NULL THEN
+        SELECT s.id INTO v_schema_id FROM schemas s WHERE s.md5_hash = p_md5_hash;
+    ELSIF p_ref_names IS NOT NULL THEN
+        INSERT INTO schema_references (schema_id, name, subject, version)
+        SELECT v_schema_id, r.ref_name, r.ref_subject, r.ref_version
+        FROM unnest(p_ref_names, p_ref_subjects, p_ref_versions) AS r(ref_name, ref_subject, ref_version);
+    END IF;
+
+    SELECT sv.version INTO v_version
+    FROM subject_versions sv
+    WHERE sv.subject = p_subject AND sv.schema_id = v_schema_id AND NOT sv.deleted
+    ORDER BY sv.version DESC
+    LIMIT 1;
+
+    IF v_version IS NOT NULL THEN
+        RETURN QUERY SELECT v_schema_id, v_version, 'EXISTING'::TEXT;
+        RETURN;
+    END IF;
+
+    IF p_expected_latest IS NOT NULL THEN
+        SELECT COALESCE(MAX(sv.version), 0) INTO v_latest
+        FROM subject_versions sv
+        WHERE sv.subject = p_subject AND NOT sv.deleted;
+
+        IF v_latest <> p_expected_latest THEN
+            RETURN QUERY SELECT v_schema_id, NULL::INTEGER, 'STALE'::TEXT;
+            RETURN;
+        END IF;
+    END IF;
+
+    INSERT INTO subjects AS s (subject, latest_version) VALUES (p_subject, 1)
+    ON CONFLICT (subject) DO UPDATE SET latest_version = s.latest_version + 1
+    RETURNING s.latest_version INTO v_version;
+
+    INSERT INTO subject_versions (subject, version, schema_id) VALUES (p_subject, v_version, v_schema_id);
+
+    RETURN QUERY SELECT v_schema_id, v_version, 'CREATED'::TEXT;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,29 @@
+package io.confluent.schemaregistry.pg;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Base for tests running the whole application against a real PostgreSQL started by Testcontainers.
+ * <p>
+ * One container is shared by every test class, and with it Spring's cached application context, so
+ * tests must not assume an empty database: each uses subjects of its own.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    protected static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,71 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.PostgresIntegrationTest;
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationEntry;
+import io.confluent.schemaregistry.pg.domain.model.BatchRegistrationResult;
+import io.confluent.schemaregistry.pg.domain.service.SubjectService;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchControllerTest extends PostgresIntegrationTest {
+
+    private static final String V1 = CompatibilityControllerTest.record("""
+            {"name":"id","type":"string"}""");
+
+    /**
+     * Cannot read v1 data, which has no name.
+     */
+    private static final String NEEDS_NAME = CompatibilityControllerTest.record("""
+            {"name":"id","type":"string"},{"name":"name","type":"string"}""");
+
+    @Autowired
+    BatchController batchController;
+
+    @Autowired
+    SubjectVersionsController subjectVersionsController;
+
+    @Autowired
+    ConfigController configController;
+
+    @Autowired
+    SubjectService subjectService;
+
+    @Test
+    void incompatibleEntryFailsWhileOtherSubjectsCommit() {
+        String run = UUID.randomUUID().toString();
+        String incompatible = "batch-incompatible-" + run;
+        String first = "batch-first-" + run;
+        String second = "batch-second-" + run;
+        configController.updateSubjectConfig(incompatible, Map.of("compatibility", "BACKWARD"));
+        subjectVersionsController.registerSchema(incompatible, ConcurrentRegistrationTest.request(V1), false);
+
+        List<BatchRegistrationResult> results = batchController.registerBatch(List.of(
+                entry(first, V1),
+                entry(incompatible, NEEDS_NAME),
+                entry(second, NEEDS_NAME)), false).getBody();
+
+        assertThat(results).extracting(BatchRegistrationResult::getSubject)
+                .containsExactly(first, incompatible, second);
+        assertThat(results.get(0).getErrorCode()).isNull();
+        assertThat(results.get(0).getVersion()).isEqualTo(1);
+        assertThat(results.get(1).getErrorCode()).isEqualTo(409);
+        assertThat(results.get(1).getId()).isNull();
+        assertThat(results.get(2).getErrorCode()).isNull();
+        assertThat(results.get(2).getVersion()).isEqualTo(1);
+
+        assertThat(subjectService.listVersions(SubjectName.of(first), false)).containsExactly(1);
+        assertThat(subjectService.listVersions(SubjectName.of(second), false)).containsExactly(1);
+        assertThat(subjectService.listVersions(SubjectName.of(incompatible), false)).containsExactly(1);
+    }
+
+    private static BatchRegistrationEntry entry(String subject, String schema) {
+        return BatchRegistrationEntry.fromJson(subject, schema, null, null, null, null);
+    }
+}
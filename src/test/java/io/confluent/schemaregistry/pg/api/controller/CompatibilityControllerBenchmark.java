@@ -0,0 +1,102 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.SchemaRegistryApplication;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of POST /compatibility/subjects/{subject}/versions/{version} against a real PostgreSQL, for a
+ * subject with {@code versions} versions, testing against the latest version and against the middle one.
+ * Non-transitive levels load and check one schema; transitive ones every version up to the target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompatibilityControllerBenchmark {
+
+    private static final String SUBJECT = "compatibility-benchmark";
+
+    @Param({"10", "100", "500"})
+    public int versions;
+
+    @Param({"BACKWARD", "BACKWARD_TRANSITIVE", "FULL_TRANSITIVE"})
+    public String level;
+
+    private PostgreSQLContainer postgres;
+    private ConfigurableApplicationContext context;
+    private CompatibilityController controller;
+    private SchemaEntity candidate;
+    private String middle;
+
+    @Setup(Level.Trial)
+    public void start() {
+        postgres = new PostgreSQLContainer("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(SchemaRegistryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "logging.level.io.confluent.schemaregistry.pg=INFO")
+                .run();
+        controller = context.getBean(CompatibilityController.class);
+
+        SubjectVersionsController subjectVersions = context.getBean(SubjectVersionsController.class);
+        ConfigController config = context.getBean(ConfigController.class);
+        config.updateSubjectConfig(SUBJECT, Map.of("compatibility", "NONE"));
+        for (int i = 0; i < versions; i++) {
+            subjectVersions.registerSchema(SUBJECT,
+                    ConcurrentRegistrationTest.request(ConcurrentRegistrationTest.schema(i)), false);
+        }
+        config.updateSubjectConfig(SUBJECT, Map.of("compatibility", level));
+
+        candidate = ConcurrentRegistrationTest.request(ConcurrentRegistrationTest.schema(versions));
+        middle = String.valueOf(versions / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Map<String, Object> againstLatest() {
+        return controller.testCompatibility(SUBJECT, "latest", candidate, false).getBody();
+    }
+
+    @Benchmark
+    public Map<String, Object> againstMiddleVersion() {
+        return controller.testCompatibility(SUBJECT, middle, candidate, false).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompatibilityControllerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dry-run compatibility checks against a subject with three versions registered under NONE:
+ * v1 {id}, v2 {id, name} and v3 {id, name, email?}. A transitive level must check the target version
+ * and every older one, and nothing newer; a non-transitive level only the target.
+ */
+class CompatibilityControllerTest extends PostgresIntegrationTest {
+
+    private static final String V1 = record("""
+            {"name":"id","type":"string"}""");
+    private static final String V2 = record("""
+            {"name":"id","type":"string"},{"name":"name","type":"string"}""");
+    private static final String V3 = record("""
+            {"name":"id","type":"string"},{"name":"name","type":"string"},
+            {"name":"email","type":["null","string"],"default":null}""");
+
+    /**
+     * Reads v2 and v3 data, but not v1 data, which has no name.
+     */
+    private static final String NEEDS_NAME = record("""
+            {"name":"id","type":"string"},{"name":"name","type":"string"}""");
+
+    /**
+     * Reads v1 and v2 data, but not v3 data, whose email is a string.
+     */
+    private static final String INT_EMAIL = record("""
+            {"name":"id","type":"string"},{"name":"name","type":"string","default":""},
+            {"name":"email","type":"int","default":0}""");
+
+    @Autowired
+    CompatibilityController compatibilityController;
+
+    @Autowired
+    SubjectVersionsController subjectVersionsController;
+
+    @Autowired
+    ConfigController configController;
+
+    private String subject;
+
+    @BeforeEach
+    void registerVersions() {
+        subject = "compatibility-" + UUID.randomUUID();
+        setCompatibility("NONE");
+        for (String schema : new String[]{V1, V2, V3}) {
+            subjectVersionsController.registerSchema(subject, ConcurrentRegistrationTest.request(schema), false);
+        }
+    }
+
+    @Test
+    void transitiveChecksTheTargetAndEveryOlderVersion() {
+        setCompatibility("BACKWARD_TRANSITIVE");
+
+        assertThat(isCompatible(NEEDS_NAME, "2")).isFalse();
+        assertThat(isCompatible(NEEDS_NAME, "latest")).isFalse();
+    }
+
+    @Test
+    void transitiveIgnoresVersionsNewerThanTheTarget() {
+        setCompatibility("BACKWARD_TRANSITIVE");
+
+        assertThat(isCompatible(INT_EMAIL, "2")).isTrue();
+        assertThat(isCompatible(INT_EMAIL, "3")).isFalse();
+    }
+
+    @Test
+    void nonTransitiveChecksOnlyTheTarget() {
+        setCompatibility("BACKWARD");
+
+        assertThat(isCompatible(NEEDS_NAME, "2")).isTrue();
+        assertThat(isCompatible(NEEDS_NAME, "1")).isFalse();
+        assertThat(isCompatible(INT_EMAIL, "latest")).isFalse();
+    }
+
+    @Test
+    void noneIsAlwaysCompatible() {
+        setCompatibility("NONE");
+
+        assertThat(isCompatible(NEEDS_NAME, "1")).isTrue();
+    }
+
+    private boolean isCompatible(String schema, String version) {
+        Map<String, Object> response = compatibilityController.testCompatibility(
+                subject, version, ConcurrentRegistrationTest.request(schema), true).getBody();
+        return (Boolean) response.get("is_compatible");
+    }
+
+    private void setCompatibility(String level) {
+        configController.updateSubjectConfig(subject, Map.of("compatibility", level));
+    }
+
+    static String record(String fields) {
+        return "{\"type\":\"record\",\"name\":\"Customer\",\"namespace\":\"com.example\",\"fields\":[" + fields + "]}";
+    }
+}
@@ -0,0 +1,122 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.PostgresIntegrationTest;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.service.SubjectService;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 64 callers registering at once through the same path as POST /subjects/{subject}/versions. Every call
+ * must succeed (in particular, none may lose a race on uq_subject_version) and versions must be
+ * numbered without gaps.
+ */
+class ConcurrentRegistrationTest extends PostgresIntegrationTest {
+
+    static final int THREADS = 64;
+
+    @Autowired
+    SubjectVersionsController controller;
+
+    @Autowired
+    SubjectService subjectService;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void differentSchemasUnderOneSubjectGetGaplessVersions() throws Exception {
+        String subject = "same-" + UUID.randomUUID();
+
+        List<SchemaId> ids = registerConcurrently(i -> subject, i -> schema(i));
+
+        assertThat(Set.copyOf(ids)).hasSize(THREADS);
+        assertThat(subjectService.listVersions(SubjectName.of(subject), false))
+                .containsExactly(IntStream.rangeClosed(1, THREADS).toArray());
+        Set<Integer> versions = IntStream.range(0, THREADS)
+                .mapToObj(i -> subjectService.lookupSchema(SubjectName.of(subject), request(schema(i)), false, false)
+                        .getVersion().getValue())
+                .collect(Collectors.toSet());
+        assertThat(versions).hasSize(THREADS);
+    }
+
+    @Test
+    void differentSubjectsEachGetVersionOne() throws Exception {
+        String prefix = "different-" + UUID.randomUUID() + "-";
+
+        registerConcurrently(i -> prefix + i, i -> schema(i));
+
+        for (int i = 0; i < THREADS; i++) {
+            assertThat(subjectService.listVersions(SubjectName.of(prefix + i), false)).containsExactly(1);
+        }
+    }
+
+    @Test
+    void identicalSchemaUnderOneSubjectIsRegisteredOnce() throws Exception {
+        String subject = "identical-" + UUID.randomUUID();
+
+        List<SchemaId> ids = registerConcurrently(i -> subject, i -> schema(0));
+
+        assertThat(Set.copyOf(ids)).hasSize(1);
+        assertThat(subjectService.listVersions(SubjectName.of(subject), false)).containsExactly(1);
+    }
+
+    /**
+     * Register one schema per caller, all released at once; any failure fails the test.
+     */
+    private List<SchemaId> registerConcurrently(IntFunction<String> subject, IntFunction<String> schema)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SchemaId>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int caller = i;
+            Callable<SchemaId> registration = () -> {
+                start.await();
+                return controller.registerSchema(subject.apply(caller), request(schema.apply(caller)), false).getBody();
+            };
+            results.add(callers.submit(registration));
+        }
+        start.countDown();
+
+        List<SchemaId> ids = new ArrayList<>();
+        for (Future<SchemaId> result : results) {
+            ids.add(result.get());
+        }
+        return ids;
+    }
+
+    /**
+     * Every schema adds its own optional field, so any registration order is backward compatible.
+     */
+    static String schema(int i) {
+        return "{\"type\":\"record\",\"name\":\"Event\",\"namespace\":\"com.example\",\"fields\":["
+                + "{\"name\":\"id\",\"type\":\"string\"},"
+                + "{\"name\":\"extra" + i + "\",\"type\":[\"null\",\"string\"],\"default\":null}]}";
+    }
+
+    static SchemaEntity request(String schema) {
+        return SchemaEntity.fromJson(null, schema, null, null, null, null);
+    }
+}
@@ -0,0 +1,10 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The concurrent registration cases with registrations written by the register_schema_version function.
+ */
+@TestPropertySource(properties = "schema-registry.registration.persistence=function")
+class FunctionPersistenceConcurrentRegistrationTest extends ConcurrentRegistrationTest {
+}
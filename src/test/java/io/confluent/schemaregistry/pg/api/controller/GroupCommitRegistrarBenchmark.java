@@ -0,0 +1,94 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.SchemaRegistryApplication;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration throughput against latency, direct versus group commit, for 32 concurrent callers each
+ * registering under its own subject against a real PostgreSQL. Throughput mode shows how many
+ * registrations commit per second; sample mode shows what each caller pays for waiting on the batch
+ * window. {@code maxDelayMs} only applies with group commit enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+public class GroupCommitRegistrarBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    @Param({"1", "2", "5"})
+    public long maxDelayMs;
+
+    private final AtomicInteger schemas = new AtomicInteger();
+    private PostgreSQLContainer postgres;
+    private ConfigurableApplicationContext context;
+    private SubjectVersionsController controller;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        final String subject = UUID.randomUUID().toString();
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        postgres = new PostgreSQLContainer("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(SchemaRegistryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "schema-registry.registration.group-commit.enabled=" + enabled,
+                        "schema-registry.registration.group-commit.max-delay-ms=" + maxDelayMs,
+                        "logging.level.io.confluent.schemaregistry.pg=INFO")
+                .run();
+        controller = context.getBean(SubjectVersionsController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public SchemaId register(Caller caller) {
+        String schema = ConcurrentRegistrationTest.schema(schemas.incrementAndGet());
+        return controller.registerSchema(caller.subject, ConcurrentRegistrationTest.request(schema), false).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GroupCommitRegistrarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
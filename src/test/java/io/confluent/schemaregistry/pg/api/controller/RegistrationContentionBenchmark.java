@@ -0,0 +1,95 @@
+package io.confluent.schemaregistry.pg.api.controller;
+
+import io.confluent.schemaregistry.pg.SchemaRegistryApplication;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration throughput for 64 concurrent callers against a real PostgreSQL, all writing one subject
+ * (every registration contends for the same subject lock) versus one subject per caller (no contention),
+ * under both persistence modes. The connection pool keeps its default size, so callers waiting on a hot
+ * subject must not hold connections the other subjects need.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(ConcurrentRegistrationTest.THREADS)
+public class RegistrationContentionBenchmark {
+
+    @Param({"jdbc", "function"})
+    public String persistence;
+
+    @Param({"true", "false"})
+    public boolean sameSubject;
+
+    private final AtomicInteger schemas = new AtomicInteger();
+    private final String run = UUID.randomUUID().toString();
+    private PostgreSQLContainer postgres;
+    private ConfigurableApplicationContext context;
+    private SubjectVersionsController controller;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        final String subject = UUID.randomUUID().toString();
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        postgres = new PostgreSQLContainer("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(SchemaRegistryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "schema-registry.registration.persistence=" + persistence,
+                        "logging.level.io.confluent.schemaregistry.pg=INFO")
+                .run();
+        controller = context.getBean(SubjectVersionsController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public SchemaId register(Caller caller) {
+        String subject = sameSubject ? "contended-" + run : caller.subject;
+        String schema = ConcurrentRegistrationTest.schema(schemas.incrementAndGet());
+        return controller.registerSchema(subject, ConcurrentRegistrationTest.request(schema), false).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RegistrationContentionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
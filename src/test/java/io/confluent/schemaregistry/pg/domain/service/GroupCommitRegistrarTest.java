@@ -0,0 +1,117 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.domain.model.RegistrationContext;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.locking.SubjectLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupCommitRegistrarTest {
+
+    private final RegistrationWriter writer = mock(RegistrationWriter.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private GroupCommitRegistrar registrar;
+
+    @AfterEach
+    void stop() {
+        callers.shutdownNow();
+        registrar.stop();
+    }
+
+    @Test
+    void batchesConcurrentRegistrationsAndReturnsEachCallerItsOwnVersion() {
+        AtomicInteger transactions = new AtomicInteger();
+        when(writer.writeAll(anyList())).thenAnswer(invocation -> {
+            transactions.incrementAndGet();
+            return succeedAll(invocation.getArgument(0));
+        });
+        registrar = start(2, 64, 20);
+
+        List<CompletableFuture<SubjectVersion>> results = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            RegistrationContext context = context("subject-" + i);
+            results.add(CompletableFuture.supplyAsync(() -> registrar.register(context), callers));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join().getSubject().getValue()).isEqualTo("subject-" + i);
+        }
+        assertThat(transactions.get()).isLessThan(results.size());
+    }
+
+    @Test
+    void failsOnlyTheRegistrationsThatFailed() {
+        when(writer.writeAll(anyList())).thenAnswer(invocation -> {
+            List<RegistrationWriter.Write> writes = invocation.getArgument(0);
+            return writes.stream()
+                    .map(write -> write.context().getSubject().getValue().startsWith("bad")
+                            ? new RegistrationWriter.Outcome(null, new IllegalArgumentException("rejected"))
+                            : new RegistrationWriter.Outcome(saved(write), null))
+                    .toList();
+        });
+        registrar = start(1, 64, 50);
+
+        CompletableFuture<SubjectVersion> good = CompletableFuture.supplyAsync(
+                () -> registrar.register(context("good")), callers);
+        CompletableFuture<SubjectVersion> bad = CompletableFuture.supplyAsync(
+                () -> registrar.register(context("bad")), callers);
+
+        assertThat(good.join().getSubject().getValue()).isEqualTo("good");
+        assertThatThrownBy(bad::join).hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writerErrorFailsTheBatchAndKeepsTheWriterAlive() throws Exception {
+        when(writer.writeAll(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(invocation -> succeedAll(invocation.getArgument(0)));
+        registrar = start(1, 64, 1);
+
+        CompletableFuture<SubjectVersion> first = CompletableFuture.supplyAsync(
+                () -> registrar.register(context("first")), callers);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+
+        CompletableFuture<SubjectVersion> second = CompletableFuture.supplyAsync(
+                () -> registrar.register(context("second")), callers);
+        assertThat(second.get(5, TimeUnit.SECONDS).getSubject().getValue()).isEqualTo("second");
+    }
+
+    private GroupCommitRegistrar start(int writers, int maxBatchSize, long maxDelayMs) {
+        GroupCommitRegistrar started = new GroupCommitRegistrar(mock(SubjectService.class), writer,
+                new SubjectLocks(64, 10_000), new SimpleMeterRegistry(), true, maxDelayMs, maxBatchSize, writers);
+        started.start();
+        return started;
+    }
+
+    static RegistrationContext context(String subject) {
+        return RegistrationContext.builder().subject(SubjectName.of(subject)).build();
+    }
+
+    private static List<RegistrationWriter.Outcome> succeedAll(List<RegistrationWriter.Write> writes) {
+        return writes.stream().map(write -> new RegistrationWriter.Outcome(saved(write), null)).toList();
+    }
+
+    private static SubjectVersion saved(RegistrationWriter.Write write) {
+        return SubjectVersion.builder()
+                .subject(write.context().getSubject())
+                .version(Version.of(1))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.infrastructure.cache.NormalizedSchemaCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NormalizationServiceTest {
+
+    private final NormalizationService normalizationService = new NormalizationService(new ObjectMapper(),
+            new NormalizedSchemaCache(new SimpleMeterRegistry(), 100));
+
+    @Test
+    void qualifiesBareNamesDefinedInTheEnclosingNamespace() {
+        String schema = """
+                {"type":"record","name":"Order","namespace":"com.example","fields":[
+                  {"name":"status","type":{"type":"enum","name":"Status","symbols":["NEW","DONE"]}},
+                  {"name":"previous","type":"Status"}]}
+                """;
+
+        String normalized = normalizationService.normalize(schema, SchemaType.AVRO);
+
+        assertThat(normalized).contains("\"type\":\"com.example.Status\"");
+        assertSameSchema(schema, normalized);
+    }
+
+    @Test
+    void resolvesBareNamesNotDefinedInTheEnclosingNamespaceToTheNullNamespace() {
+        String schema = """
+                {"type":"record","name":"Envelope","fields":[
+                  {"name":"id","type":{"type":"fixed","name":"Id","size":16}},
+                  {"name":"body","type":{"type":"record","name":"Body","namespace":"com.example","fields":[
+                    {"name":"id","type":"Id"}]}}]}
+                """;
+
+        String normalized = normalizationService.normalize(schema, SchemaType.AVRO);
+
+        assertThat(normalized).doesNotContain("com.example.Id");
+        assertSameSchema(schema, normalized);
+    }
+
+    @Test
+    void equivalentSpellingsNormalizeToTheSameText() {
+        String bare = """
+                {"type":"record","name":"Node","namespace":"com.example","fields":[
+                  {"name":"next","type":["null","Node"],"default":null}]}
+                """;
+        String qualified = """
+                {"namespace":"com.example","name":"Node","type":"record","fields":[
+                  {"type":["null","com.example.Node"],"name":"next","default":null}]}
+                """;
+
+        assertThat(normalizationService.normalize(bare, SchemaType.AVRO))
+                .isEqualTo(normalizationService.normalize(qualified, SchemaType.AVRO));
+    }
+
+    private static void assertSameSchema(String original, String normalized) {
+        assertThat(new Schema.Parser().parse(normalized)).isEqualTo(new Schema.Parser().parse(original));
+    }
+}
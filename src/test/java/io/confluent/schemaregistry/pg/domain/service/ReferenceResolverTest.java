@@ -0,0 +1,128 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.PostgresIntegrationTest;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.infrastructure.cache.ResolvedReferenceCache;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static io.confluent.schemaregistry.pg.domain.service.ReferenceValidationServiceTest.record;
+import static io.confluent.schemaregistry.pg.domain.service.ReferenceValidationServiceTest.reference;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsing schemas with references against chains registered in PostgreSQL: C references B, which
+ * references A.
+ */
+class ReferenceResolverTest extends PostgresIntegrationTest {
+
+    @Autowired
+    ReferenceResolver referenceResolver;
+
+    @Autowired
+    ResolvedReferenceCache resolvedReferenceCache;
+
+    @Autowired
+    RegistrationContextFactory registrationContextFactory;
+
+    @Autowired
+    SubjectService subjectService;
+
+    private String run;
+    private String a;
+    private String b;
+    private String c;
+
+    @BeforeEach
+    void newRun() {
+        run = UUID.randomUUID().toString();
+        a = "a-" + run;
+        b = "b-" + run;
+        c = "c-" + run;
+    }
+
+    @Test
+    void parsesTheClosureBottomUp() {
+        register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, 1));
+        register(c, record("C", run, "com.example.B"), reference("B", b, 1));
+        resolvedReferenceCache.invalidateAll();
+
+        Schema parsed = parse(record("D", run, "com.example.C"), reference("C", c, 1)).schema();
+
+        Schema cType = parsed.getField("f0").schema();
+        Schema bType = cType.getField("f0").schema();
+        assertThat(cType.getFullName()).isEqualTo("com.example.C");
+        assertThat(bType.getFullName()).isEqualTo("com.example.B");
+        assertThat(bType.getField("f0").schema().getFullName()).isEqualTo("com.example.A");
+    }
+
+    @Test
+    void reusesResolvedClosures() {
+        register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, 1));
+        parse(record("C", run, "com.example.B"), reference("B", b, 1));
+
+        assertThat(resolvedReferenceCache.getIfPresent(new ResolvedReferenceCache.Key(b, 1)))
+                .containsKeys("com.example.A", "com.example.B");
+
+        long hits = resolvedReferenceCache.stats().hitCount();
+        long misses = resolvedReferenceCache.stats().missCount();
+        ReferenceResolver.Parsed parsed = parse(record("D", run, "com.example.B"), reference("B", b, 1));
+
+        assertThat(parsed.cacheKey()).isNotNull();
+        assertThat(resolvedReferenceCache.stats().hitCount()).isEqualTo(hits + 1);
+        assertThat(resolvedReferenceCache.stats().missCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void doesNotCacheClosuresReachedThroughLatest() {
+        register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, -1));
+        register(c, record("C", run, "com.example.B"), reference("B", b, 1));
+
+        ReferenceResolver.Parsed parsed = parse(record("D", run, "com.example.C"), reference("C", c, 1));
+
+        assertThat(parsed.cacheKey()).isNull();
+        assertThat(resolvedReferenceCache.getIfPresent(new ResolvedReferenceCache.Key(c, 1))).isNull();
+        assertThat(resolvedReferenceCache.getIfPresent(new ResolvedReferenceCache.Key(b, 1))).isNull();
+    }
+
+    @Test
+    void movingALatestReferenceChangesTheParse() {
+        register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, -1));
+        String schema = record("C", run, "com.example.B");
+
+        // B is pinned, but its closure goes through A at latest
+        Schema before = parse(schema, reference("B", b, 1)).schema();
+        register(a, """
+                {"type":"record","name":"A","namespace":"com.example","doc":"%s","fields":[
+                {"name":"id","type":"string"},{"name":"extra","type":["null","string"],"default":null}]}"""
+                .formatted(run));
+        Schema after = parse(schema, reference("B", b, 1)).schema();
+
+        assertThat(aType(before).getFields()).hasSize(1);
+        assertThat(aType(after).getFields()).hasSize(2);
+    }
+
+    private ReferenceResolver.Parsed parse(String schema, SchemaReference... references) {
+        return referenceResolver.parse(Md5Hash.compute(schema), schema, List.of(references));
+    }
+
+    private SubjectVersion register(String subject, String schema, SchemaReference... references) {
+        return ReferenceValidationServiceTest.register(
+                registrationContextFactory, subjectService, subject, schema, references);
+    }
+
+    private static Schema aType(Schema c) {
+        return c.getField("f0").schema().getField("f0").schema();
+    }
+}
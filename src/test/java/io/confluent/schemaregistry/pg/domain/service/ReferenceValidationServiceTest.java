@@ -0,0 +1,153 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import io.confluent.schemaregistry.pg.PostgresIntegrationTest;
+import io.confluent.schemaregistry.pg.domain.model.SchemaEntity;
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference validation against small graphs registered in PostgreSQL. Registration itself refuses
+ * cycles, so the cyclic graphs get their closing edge inserted directly, as an unvalidated import could.
+ */
+class ReferenceValidationServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    ReferenceValidationService referenceValidationService;
+
+    @Autowired
+    RegistrationContextFactory registrationContextFactory;
+
+    @Autowired
+    SubjectService subjectService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private String run;
+
+    @BeforeEach
+    void newRun() {
+        run = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void reportsDanglingReferences() {
+        String missing = subject("missing");
+
+        assertThat(validate(subject("new"), reference("A", missing, 1))).containsExactly(
+                "Reference com.example.A: subject " + missing + " version 1 not found");
+    }
+
+    @Test
+    void resolvesLatestToTheNewestLiveVersion() {
+        String a = subject("a");
+        register(a, record("A", run));
+        register(a, record("A", run + "-2"));
+
+        assertThat(validate(subject("new"), reference("A", a, -1))).isEmpty();
+
+        subjectService.deleteVersion(SubjectName.of(a), Version.of(2), false);
+        assertThat(validate(subject("new"), reference("A", a, -1))).isEmpty();
+
+        subjectService.deleteVersion(SubjectName.of(a), Version.of(1), false);
+        assertThat(validate(subject("new"), reference("A", a, -1))).containsExactly(
+                "Reference com.example.A: subject " + a + " version latest not found");
+        assertThat(validate(subject("new"), reference("A", a, 2))).isEmpty();
+    }
+
+    @Test
+    void reportsCyclesThroughTheResolvedGraph() {
+        String a = subject("a");
+        String b = subject("b");
+        SubjectVersion a1 = register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, 1));
+        // A at version 1 refers back to B at latest, which resolves to B version 1
+        addReference(a1, "com.example.B", b, -1);
+
+        assertThat(validate(subject("new"), reference("B", b, 1))).containsExactly(
+                "Reference com.example.B: reference cycle through subject " + b + " version 1");
+    }
+
+    @Test
+    void reportsLatestSelfReferencesReachedTransitively() {
+        String s = subject("s");
+        String a = subject("a");
+        register(s, record("S", run));
+        register(a, record("A", run, "com.example.S"), reference("S", s, -1));
+
+        assertThat(validate(s, reference("A", a, 1))).containsExactly(
+                "Reference com.example.A: reaches the latest version of subject " + s
+                        + ", which this schema would become");
+    }
+
+    @Test
+    void reportsCyclesForEveryReferenceSharingTheCyclicDependency() {
+        String a = subject("a");
+        String b = subject("b");
+        String x = subject("x");
+        String y = subject("y");
+        SubjectVersion a1 = register(a, record("A", run));
+        register(b, record("B", run, "com.example.A"), reference("A", a, 1));
+        register(x, record("X", run, "com.example.A"), reference("A", a, 1));
+        register(y, record("Y", run, "com.example.A"), reference("A", a, 1));
+        addReference(a1, "com.example.B", b, 1);
+
+        // Y reaches A after X's walk has memoized it; the cycle must still be reported for Y
+        assertThat(validate(subject("new"), reference("X", x, 1), reference("Y", y, 1))).containsExactly(
+                "Reference com.example.X: reference cycle through subject " + a + " version 1",
+                "Reference com.example.Y: reference cycle through subject " + a + " version 1");
+    }
+
+    private List<String> validate(String subject, SchemaReference... references) {
+        return referenceValidationService.validateReferences(SubjectName.of(subject), List.of(references));
+    }
+
+    private SubjectVersion register(String subject, String schema, SchemaReference... references) {
+        return register(registrationContextFactory, subjectService, subject, schema, references);
+    }
+
+    private void addReference(SubjectVersion from, String name, String subject, int version) {
+        jdbc.update("INSERT INTO schema_references (schema_id, name, subject, version) VALUES (?, ?, ?, ?)",
+                from.getSchemaId().getValue(), name, subject, version);
+    }
+
+    private String subject(String name) {
+        return name + "-" + run;
+    }
+
+    static SubjectVersion register(RegistrationContextFactory registrationContextFactory,
+                                   SubjectService subjectService,
+                                   String subject, String schema, SchemaReference... references) {
+        SchemaEntity request = SchemaEntity.fromJson(null, schema, null, List.of(references), null, null);
+        return subjectService.registerVersion(
+                registrationContextFactory.create(SubjectName.of(subject), request, false));
+    }
+
+    /**
+     * A record com.example.{name} with an id field and one field per referenced type. The doc string
+     * keeps texts, and so schema IDs, apart between tests.
+     */
+    static String record(String name, String doc, String... fieldTypes) {
+        StringBuilder fields = new StringBuilder("{\"name\":\"id\",\"type\":\"string\"}");
+        for (int i = 0; i < fieldTypes.length; i++) {
+            fields.append(",{\"name\":\"f").append(i).append("\",\"type\":\"").append(fieldTypes[i]).append("\"}");
+        }
+        return "{\"type\":\"record\",\"name\":\"" + name + "\",\"namespace\":\"com.example\",\"doc\":\"" + doc
+                + "\",\"fields\":[" + fields + "]}";
+    }
+
+    static SchemaReference reference(String name, String subject, int version) {
+        return SchemaReference.fromJson("com.example." + name, subject, version);
+    }
+}
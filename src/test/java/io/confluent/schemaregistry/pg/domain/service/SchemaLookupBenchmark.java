@@ -0,0 +1,113 @@
+package io.confluent.schemaregistry.pg.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.schemaregistry.pg.domain.value.CanonicalFingerprint;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaType;
+import io.confluent.schemaregistry.pg.infrastructure.cache.NormalizedSchemaCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the steps behind POST /subjects/{subject}, per lookup against a subject with {@code versions}
+ * versions: the exact MD5 hash and map lookup, the canonical-fingerprint candidate lookup used with
+ * normalize, and the normalize-and-compare scan over every version that the fingerprint avoids.
+ * The query differs from the stored version only in formatting, so the exact lookup misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int versions;
+
+    private NormalizationService normalizationService;
+    private final List<String> stored = new ArrayList<>();
+    private final Map<Md5Hash, Integer> byHash = new HashMap<>();
+    private final Map<Long, List<Integer>> byFingerprint = new HashMap<>();
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        normalizationService = new NormalizationService(new ObjectMapper(),
+                new NormalizedSchemaCache(new SimpleMeterRegistry(), 100_000));
+        for (int version = 1; version <= versions; version++) {
+            String text = schema(version, "");
+            stored.add(text);
+            byHash.put(Md5Hash.compute(text), version);
+            byFingerprint.computeIfAbsent(CanonicalFingerprint.compute(text), f -> new ArrayList<>()).add(version);
+            normalizationService.normalize(text, SchemaType.AVRO); // Warm, as stored schemas are in production
+        }
+        query = schema(versions / 2 + 1, "\n  ");
+    }
+
+    @Benchmark
+    public Integer exactHash() {
+        return byHash.get(Md5Hash.compute(query));
+    }
+
+    @Benchmark
+    public Integer fingerprintLookup() {
+        String normalized = normalizationService.normalize(query, SchemaType.AVRO);
+        long fingerprint = CanonicalFingerprint.of(new Schema.Parser().parse(normalized));
+        for (int version : byFingerprint.getOrDefault(fingerprint, List.of())) {
+            if (normalized.equals(normalizationService.normalize(stored.get(version - 1), SchemaType.AVRO))) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Integer normalizeEveryVersion() {
+        String normalized = normalizationService.normalize(query, SchemaType.AVRO);
+        for (int version = versions; version >= 1; version--) {
+            if (normalized.equals(normalizationService.normalize(stored.get(version - 1), SchemaType.AVRO))) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A record named after its version, so every version has its own fingerprint.
+     */
+    private static String schema(int version, String indent) {
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < version % 50 + 1; i++) {
+            fields.append(i == 0 ? "" : ",").append(indent)
+                    .append("{\"name\":\"f").append(i).append("\",\"type\":\"string\"}");
+        }
+        return "{\"type\":\"record\",\"name\":\"Event" + version + "\",\"namespace\":\"com.example\","
+                + indent + "\"fields\":[" + fields + "]}";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SchemaLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package io.confluent.schemaregistry.pg.domain.value;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Md5Hash} against the string-backed {@link LegacyMd5Hash} it replaced: hashing a schema text,
+ * comparing two equal hashes, and looking one up in a map of {@code entries} hashes, as the subject and
+ * schema indexes do. Lookups use a fresh, equal key, with its own string for the legacy class, so
+ * equality is actually evaluated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Md5HashBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private String schema;
+    private Md5Hash hash;
+    private Md5Hash equalHash;
+    private LegacyMd5Hash legacyHash;
+    private LegacyMd5Hash equalLegacyHash;
+    private final Map<Md5Hash, Integer> byHash = new HashMap<>();
+    private final Map<LegacyMd5Hash, Integer> byLegacyHash = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            fields.append(i == 0 ? "" : ",").append("{\"name\":\"field").append(i).append("\",\"type\":\"string\"}");
+        }
+        schema = "{\"type\":\"record\",\"name\":\"Event\",\"fields\":[" + fields + "]}";
+
+        for (int i = 0; i < entries; i++) {
+            byHash.put(Md5Hash.compute(schema + i), i);
+            byLegacyHash.put(LegacyMd5Hash.compute(schema + i), i);
+        }
+        String probe = schema + (entries / 2);
+        hash = Md5Hash.compute(probe);
+        equalHash = Md5Hash.of(hash.getValue());
+        legacyHash = LegacyMd5Hash.compute(probe);
+        equalLegacyHash = LegacyMd5Hash.of(new String(legacyHash.getValue()));
+    }
+
+    @Benchmark
+    public Md5Hash compute() {
+        return Md5Hash.compute(schema);
+    }
+
+    @Benchmark
+    public LegacyMd5Hash computeLegacy() {
+        return LegacyMd5Hash.compute(schema);
+    }
+
+    @Benchmark
+    public boolean equalsHash() {
+        return hash.equals(equalHash);
+    }
+
+    @Benchmark
+    public boolean equalsLegacy() {
+        return legacyHash.equals(equalLegacyHash);
+    }
+
+    @Benchmark
+    public Integer mapGet() {
+        return byHash.get(equalHash);
+    }
+
+    @Benchmark
+    public Integer mapGetLegacy() {
+        return byLegacyHash.get(equalLegacyHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Md5HashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold parse versus warm {@link ParsedSchemaCache} lookups for records of {@code fields} fields: with the
+ * hash already known (registration computes it once), and with the hash computed from the text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsedSchemaCacheBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fields;
+
+    private ParsedSchemaCache cache;
+    private String schemaText;
+    private Md5Hash hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder text = new StringBuilder("{\"type\":\"record\",\"name\":\"Wide\",\"fields\":[");
+        for (int i = 0; i < fields; i++) {
+            text.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"f").append(i).append("\",\"type\":[\"null\",\"string\"],\"default\":null}");
+        }
+        schemaText = text.append("]}").toString();
+        hash = Md5Hash.compute(schemaText);
+        cache = new ParsedSchemaCache(new SimpleMeterRegistry(), 10_000);
+        cache.get(hash, schemaText);
+    }
+
+    @Benchmark
+    public Schema coldParse() {
+        return new Schema.Parser().parse(schemaText);
+    }
+
+    @Benchmark
+    public Schema warmKnownHash() {
+        return cache.get(hash, schemaText);
+    }
+
+    @Benchmark
+    public Schema warmFromText() {
+        return cache.get(schemaText);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParsedSchemaCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,50 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParsedSchemaCacheTest {
+
+    private static final String SCHEMA = """
+            {"type":"record","name":"User","fields":[{"name":"name","type":"string"}]}
+            """;
+
+    private final ParsedSchemaCache cache = new ParsedSchemaCache(new SimpleMeterRegistry(), 100);
+
+    @Test
+    void parsesOnceAndServesWarmLookupsFromTheCache() {
+        Md5Hash hash = Md5Hash.compute(SCHEMA);
+
+        Schema cold = cache.get(hash, SCHEMA);
+        Schema warm = cache.get(hash, SCHEMA);
+
+        assertThat(warm).isSameAs(cold).isEqualTo(new Schema.Parser().parse(SCHEMA));
+        assertThat(cache.get(SCHEMA)).isSameAs(cold);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheParseFailures() {
+        String invalid = "{\"type\":\"record\",\"name\":\"Broken\"}";
+
+        assertThatThrownBy(() -> cache.get(invalid)).isInstanceOf(SchemaParseException.class);
+        assertThat(cache.getIfPresent(Md5Hash.compute(invalid))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidateAllForcesReparse() {
+        Schema cold = cache.get(SCHEMA);
+
+        cache.invalidateAll();
+
+        assertThat(cache.get(SCHEMA)).isNotSameAs(cold).isEqualTo(cold);
+    }
+}
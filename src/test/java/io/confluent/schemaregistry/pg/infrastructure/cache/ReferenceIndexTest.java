@@ -0,0 +1,154 @@
+package io.confluent.schemaregistry.pg.infrastructure.cache;
+
+import io.confluent.schemaregistry.pg.domain.model.SchemaReference;
+import io.confluent.schemaregistry.pg.domain.model.SubjectVersion;
+import io.confluent.schemaregistry.pg.domain.value.Md5Hash;
+import io.confluent.schemaregistry.pg.domain.value.SchemaId;
+import io.confluent.schemaregistry.pg.domain.value.SubjectName;
+import io.confluent.schemaregistry.pg.domain.value.Version;
+import io.confluent.schemaregistry.pg.infrastructure.events.ChangeEvent;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SchemaReferenceRepository;
+import io.confluent.schemaregistry.pg.infrastructure.persistence.SubjectVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReferenceIndexTest {
+
+    private static final int LATEST = -1;
+
+    private final SchemaReferenceRepository schemaReferenceRepository = mock(SchemaReferenceRepository.class);
+    private final SubjectVersionIndex subjectVersionIndex = new SubjectVersionIndex(
+            mock(SubjectVersionRepository.class), mock(TransactionTemplate.class), new SimpleMeterRegistry());
+    private final ReferenceIndex index = new ReferenceIndex(schemaReferenceRepository,
+            mock(SubjectVersionRepository.class), subjectVersionIndex, mock(TransactionTemplate.class),
+            new SimpleMeterRegistry());
+
+    @Test
+    void latestReferencesResolveToTheNewestLiveVersion() {
+        register("common", 1, 1);
+        register("common", 2, 2);
+        register("pinned", 1, 10, reference("common", 1));
+        register("floating", 1, 11, reference("common", LATEST));
+
+        assertThat(index.referencedBy(subject("common"), 1)).containsExactly(10);
+        assertThat(index.referencedBy(subject("common"), 2)).containsExactly(11);
+
+        delete("common", 2, false);
+
+        assertThat(index.referencedBy(subject("common"), 1)).containsExactly(10, 11);
+    }
+
+    @Test
+    void softDeletesAreBlockedOnlyByLiveUsersAndPermanentDeletesByAny() {
+        register("common", 1, 1);
+        register("user", 1, 10, reference("common", 1));
+
+        assertThat(index.blockingDelete(subject("common"), 1, false)).containsExactly(10);
+
+        delete("user", 1, false);
+
+        assertThat(index.blockingDelete(subject("common"), 1, false)).isEmpty();
+        assertThat(index.blockingDelete(subject("common"), 1, true)).containsExactly(10);
+
+        delete("user", 1, true);
+
+        assertThat(index.blockingDelete(subject("common"), 1, true)).isEmpty();
+    }
+
+    @Test
+    void latestReferencesBlockOnlyTheLastLiveVersion() {
+        register("common", 1, 1);
+        register("common", 2, 2);
+        register("user", 1, 10, reference("common", LATEST));
+
+        assertThat(index.blockingDelete(subject("common"), 1, false)).isEmpty();
+        assertThat(index.blockingDelete(subject("common"), 2, false)).isEmpty();
+
+        delete("common", 1, false);
+
+        assertThat(index.blockingDelete(subject("common"), 2, false)).containsExactly(10);
+    }
+
+    @Test
+    void subjectDeletesIgnoreReferencesFromTheSubjectItself() {
+        register("common", 1, 1);
+        register("common", 2, 2, reference("common", 1));
+
+        assertThat(index.blockingDelete(subject("common"), 1, false)).containsExactly(2);
+        assertThat(index.blockingDelete(subject("common"), false)).isEmpty();
+
+        register("user", 1, 10, reference("common", LATEST));
+
+        assertThat(index.blockingDelete(subject("common"), false)).containsExactly(10);
+    }
+
+    @Test
+    void dependentsFollowReferenceChainsTransitively() {
+        register("a", 1, 1);
+        register("b", 1, 2, reference("a", 1));
+        register("c", 1, 3, reference("b", 1));
+        register("d", 1, 4, reference("c", LATEST));
+
+        assertThat(index.dependents(subject("a"), 1, false)).containsExactly(
+                new ReferenceIndex.Dependent("b", 1, 2, false),
+                new ReferenceIndex.Dependent("c", 1, 3, false),
+                new ReferenceIndex.Dependent("d", 1, 4, false));
+        assertThat(index.dependents(subject("c"), 1, false)).containsExactly(
+                new ReferenceIndex.Dependent("d", 1, 4, false));
+    }
+
+    @Test
+    void dependentsWalkThroughDeletedVersionsAndListThemOnlyWhenAsked() {
+        register("a", 1, 1);
+        register("b", 1, 2, reference("a", 1));
+        register("c", 1, 3, reference("b", 1));
+
+        delete("b", 1, false);
+
+        assertThat(index.dependents(subject("a"), 1, false)).containsExactly(
+                new ReferenceIndex.Dependent("c", 1, 3, false));
+        assertThat(index.dependents(subject("a"), 1, true)).containsExactly(
+                new ReferenceIndex.Dependent("b", 1, 2, true),
+                new ReferenceIndex.Dependent("c", 1, 3, false));
+    }
+
+    private void register(String subject, int version, int schemaId, SchemaReference... references) {
+        when(schemaReferenceRepository.findBySchemaId(SchemaId.of(schemaId))).thenReturn(List.of(references));
+        SubjectVersion registered = SubjectVersion.builder()
+                .subject(subject(subject))
+                .version(Version.of(version))
+                .schemaId(SchemaId.of(schemaId))
+                .deleted(false)
+                .build();
+        publish(ChangeEvent.versionRegistered(registered, Md5Hash.compute(subject + "/" + version)));
+    }
+
+    private void delete(String subject, int version, boolean permanent) {
+        publish(ChangeEvent.versionDeleted(subject(subject), Version.of(version), permanent));
+    }
+
+    private void publish(ChangeEvent event) {
+        // References to "latest" resolve against the version index, so it follows the same events
+        subjectVersionIndex.onChange(event);
+        index.onChange(event);
+    }
+
+    private static SchemaReference reference(String subject, int version) {
+        return SchemaReference.builder()
+                .name(subject + ".Type")
+                .subject(subject(subject))
+                .version(Version.of(version))
+                .build();
+    }
+
+    private static SubjectName subject(String name) {
+        return SubjectName.of(name);
+    }
+}
@@ -0,0 +1,81 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangeEventBusTest {
+
+    private static final String REMOTE_REGISTRATION = "other-node|VERSION_REGISTERED|1|5|0||orders-value";
+
+    private final ChangeEventHandler failing = mock(ChangeEventHandler.class);
+    private final ChangeEventHandler healthy = mock(ChangeEventHandler.class);
+    private final ChangeEventBus bus = new ChangeEventBus(null, provider(failing, healthy));
+
+    @Test
+    void resyncsHandlerThatFailsToApplyAnEvent() {
+        doThrow(new IllegalStateException("boom")).when(failing).onChange(any());
+
+        bus.onNotification(REMOTE_REGISTRATION);
+
+        verify(failing).resync();
+        verify(healthy).onChange(any());
+        verify(healthy, never()).resync();
+    }
+
+    @Test
+    void failingResyncDoesNotStopDispatch() {
+        doThrow(new IllegalStateException("boom")).when(failing).onChange(any());
+        doThrow(new IllegalStateException("database down")).when(failing).resync();
+
+        assertThatCode(() -> bus.onNotification(REMOTE_REGISTRATION)).doesNotThrowAnyException();
+
+        verify(healthy).onChange(any());
+    }
+
+    @Test
+    void resyncAllContinuesPastFailingHandler() {
+        doThrow(new IllegalStateException("database down")).when(failing).resync();
+
+        assertThatCode(bus::resyncAll).doesNotThrowAnyException();
+
+        verify(healthy).resync();
+    }
+
+    @Test
+    void ignoresMalformedNotifications() {
+        bus.onNotification("not-a-change-event");
+
+        verify(failing, never()).onChange(any());
+        verify(healthy, never()).onChange(any());
+    }
+
+    @Test
+    void skipsNotificationsWithUnknownTypesOrBadNumbers() {
+        assertThatCode(() -> {
+            bus.onNotification("other-node|SCHEMA_TAGGED|1|5|0||orders-value");
+            bus.onNotification("other-node|VERSION_REGISTERED|one|5|0||orders-value");
+        }).doesNotThrowAnyException();
+
+        bus.onNotification(REMOTE_REGISTRATION);
+
+        verify(failing).onChange(any());
+        verify(healthy).onChange(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjectProvider<ChangeEventHandler> provider(ChangeEventHandler... handlers) {
+        ObjectProvider<ChangeEventHandler> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(handlers));
+        return provider;
+    }
+}
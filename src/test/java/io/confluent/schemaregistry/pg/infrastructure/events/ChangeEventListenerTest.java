@@ -0,0 +1,77 @@
+package io.confluent.schemaregistry.pg.infrastructure.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers
+class ChangeEventListenerTest {
+
+    private static final long WAIT_MS = 10_000;
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    private final ChangeEventHandler handler = mock(ChangeEventHandler.class);
+    private JdbcTemplate jdbc;
+    private ChangeEventListener listener;
+
+    @BeforeEach
+    void startListener() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgres.getJdbcUrl());
+        properties.setUsername(postgres.getUsername());
+        properties.setPassword(postgres.getPassword());
+
+        ChangeEventBus bus = new ChangeEventBus(jdbc, ChangeEventBusTest.provider(handler));
+        listener = new ChangeEventListener(bus, properties, true, 100, 100);
+        listener.start();
+    }
+
+    @AfterEach
+    void stopListener() {
+        listener.stop();
+    }
+
+    @Test
+    void resyncsOnFirstListen() {
+        verify(handler, timeout(WAIT_MS)).resync();
+    }
+
+    @Test
+    void appliesChangesPublishedByOtherNodes() {
+        verify(handler, timeout(WAIT_MS)).resync();
+
+        ChangeEventBus otherNode = new ChangeEventBus(jdbc, ChangeEventBusTest.provider());
+        otherNode.publish(ChangeEvent.configChanged(null));
+
+        verify(handler, timeout(WAIT_MS)).onChange(argThat(event ->
+                event.getType() == ChangeEvent.Type.CONFIG_CHANGED && event.getSubject() == null));
+    }
+
+    @Test
+    void resyncsAgainAfterReconnecting() {
+        verify(handler, timeout(WAIT_MS)).resync();
+
+        jdbc.queryForList("""
+                SELECT pg_terminate_backend(pid) FROM pg_stat_activity
+                WHERE query LIKE 'LISTEN %' AND pid <> pg_backend_pid()
+                """);
+
+        verify(handler, timeout(WAIT_MS).times(2)).resync();
+    }
+}